@@ -3,9 +3,11 @@ package com.zest.product.management;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class ProductManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(ProductManagementApplication.class, args);
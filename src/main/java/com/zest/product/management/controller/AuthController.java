@@ -12,6 +12,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -29,6 +31,7 @@ public class AuthController {
     private final AuthService authService;
     private final RefreshTokenService refreshTokenService;
     private final JwtUtils jwtUtils;
+    private final UserDetailsService userDetailsService;
 
     @PostMapping("/login")
     @Operation(summary = "Login user and return JWT access + refresh tokens")
@@ -54,10 +57,12 @@ public class AuthController {
                 .map(refreshTokenService::verifyExpiration)
                 .map(RefreshToken::getUser)
                 .map(user -> {
-                    // Create new access token
-                    String token = jwtUtils.generateTokenFromUsername(user.getUsername());
+                    // Create new access token from current (cached) user details
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+                    String token = jwtUtils.generateTokenFromUserDetails(userDetails);
                     // Rotate the refresh token (Delete old, create new)
-                    RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user.getId());
+                    RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user.getId(),
+                            user.getUsername());
                     return ResponseEntity.ok(ApiResponse.success(
                             new TokenRefreshResponse(token, newRefreshToken.getToken()),
                             "Token refreshed successfully (Rotation applied)"));
@@ -0,0 +1,49 @@
+package com.zest.product.management.controller;
+
+import com.zest.product.management.dto.ChangeEventDto;
+import com.zest.product.management.dto.CursorPage;
+import com.zest.product.management.service.ChangeFeed;
+import com.zest.product.management.service.ChangeLog;
+import com.zest.product.management.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for the product and item change feed.
+ * Base path: /api/v1/changes
+ */
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "Delta sync and push notifications of committed product and item changes")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+    private final ChangeLog changeLog;
+
+    @GetMapping
+    @Operation(summary = "Get product and item changes after a change log sequence, oldest first")
+    public ResponseEntity<ApiResponse<CursorPage<ChangeEventDto>>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(changeLog.getChanges(since, limit),
+                "Changes fetched successfully"));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream product and item changes as Server-Sent Events, resuming after Last-Event-ID")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+}
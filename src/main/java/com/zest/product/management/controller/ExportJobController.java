@@ -0,0 +1,73 @@
+package com.zest.product.management.controller;
+
+import com.zest.product.management.dto.ExportJobDto;
+import com.zest.product.management.service.ExportFormat;
+import com.zest.product.management.service.ExportJobService;
+import com.zest.product.management.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+/**
+ * REST Controller for background product export jobs.
+ * Base path: /api/v1/products/export-jobs
+ * Jobs are visible only to the user who created them.
+ */
+@RestController
+@RequestMapping("/api/v1/products/export-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Product Export Jobs", description = "Endpoints for running product exports in the background")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    @Operation(summary = "Start a background export of all products as CSV or NDJSON")
+    public ResponseEntity<ApiResponse<ExportJobDto>> createExportJob(@RequestParam(defaultValue = "csv") String format,
+            Authentication authentication) {
+        ExportJobDto job = exportJobService.submit(authentication.getName(), ExportFormat.fromParam(format));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job, "Export job queued"));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get the status and progress of an export job")
+    public ResponseEntity<ApiResponse<ExportJobDto>> getExportJob(@PathVariable String jobId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(exportJobService.getJob(authentication.getName(), jobId),
+                "Export job fetched successfully"));
+    }
+
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "Download the gzip-compressed result of a completed export job")
+    public ResponseEntity<Resource> downloadExportJob(@PathVariable String jobId, Authentication authentication) {
+        Path resultFile = exportJobService.getResultFile(authentication.getName(), jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products-" + resultFile.getFileName())
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(resultFile));
+    }
+
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "Cancel an export job, or discard the result of a finished one")
+    public ResponseEntity<ApiResponse<ExportJobDto>> cancelExportJob(@PathVariable String jobId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(exportJobService.cancel(authentication.getName(), jobId),
+                "Export job cancelled"));
+    }
+}
@@ -1,10 +1,27 @@
 package com.zest.product.management.controller;
 
+import com.zest.product.management.dto.CursorPage;
+import com.zest.product.management.dto.ImportReport;
+import com.zest.product.management.dto.ProductBatchRequest;
+import com.zest.product.management.dto.ProductBatchResult;
 import com.zest.product.management.dto.ItemDto;
+import com.zest.product.management.dto.ProductDeleteResult;
 import com.zest.product.management.dto.ProductDto;
+import com.zest.product.management.dto.ProductLookup;
+import com.zest.product.management.dto.ProductPatchRequest;
+import com.zest.product.management.dto.ProductSummaryDto;
+import com.zest.product.management.dto.StockAdjustmentDto;
+import com.zest.product.management.dto.StockAdjustmentRequest;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.service.ExportFormat;
 import com.zest.product.management.service.ItemService;
+import com.zest.product.management.service.ProductBatchService;
+import com.zest.product.management.service.ProductExportService;
+import com.zest.product.management.service.ProductImportService;
 import com.zest.product.management.service.ProductService;
+import com.zest.product.management.service.StockService;
 import com.zest.product.management.util.ApiResponse;
+import com.zest.product.management.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,15 +29,26 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
  * REST Controller for Product and Item operations.
  * Base path: /api/v1/products
+ * Single product and item list reads carry a strong ETag; If-None-Match is
+ * answered with 304 from a version lookup, and If-Match guards PUT/DELETE.
+ * Product reads accept include=items, which loads the items of all returned
+ * products with one batched query.
  */
 @RestController
 @RequestMapping("/api/v1/products")
@@ -31,19 +59,76 @@ public class ProductController {
 
     private final ProductService productService;
     private final ItemService itemService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductBatchService productBatchService;
+    private final StockService stockService;
 
     @GetMapping
-    @Operation(summary = "Get all products with pagination and sorting")
-    public ResponseEntity<ApiResponse<Page<ProductDto>>> getAllProducts(Pageable pageable) {
-        return ResponseEntity
-                .ok(ApiResponse.success(productService.getAllProducts(pageable), "Products fetched successfully"));
+    @Operation(summary = "Get all products with pagination and sorting; include=items adds their items")
+    public ResponseEntity<ApiResponse<Page<ProductDto>>> getAllProducts(Pageable pageable,
+            @RequestParam(required = false) String include) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getAllProducts(pageable, includesItems(include)),
+                "Products fetched successfully"));
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several products by id in one call, in request order; include=items adds their items")
+    public ResponseEntity<ApiResponse<List<ProductLookup>>> getProductsByIds(@RequestParam List<Long> ids,
+            @RequestParam(required = false) String include) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getProductsByIds(ids, includesItems(include)),
+                "Products fetched successfully"));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get products with cursor (keyset) pagination, without a total count")
+    public ResponseEntity<ApiResponse<CursorPage<ProductDto>>> scrollProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String include) {
+        return ResponseEntity.ok(ApiResponse.success(
+                productService.scrollProducts(after, size, sort, direction, includesItems(include)),
+                "Products fetched successfully"));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get item count and total quantity per product, optionally with a minimum total quantity")
+    public ResponseEntity<ApiResponse<Page<ProductSummaryDto>>> getProductSummaries(Pageable pageable,
+            @RequestParam(defaultValue = "0") long minTotalQuantity) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getProductSummaries(minTotalQuantity, pageable),
+                "Product summaries fetched successfully"));
+    }
+
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Get item count and total quantity of a single product")
+    public ResponseEntity<ApiResponse<ProductSummaryDto>> getProductSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(productService.getProductSummary(id),
+                "Product summary fetched successfully"));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a single product by ID")
-    public ResponseEntity<ApiResponse<ProductDto>> getProductById(@PathVariable Long id) {
-        return ResponseEntity
-                .ok(ApiResponse.success(productService.getProductById(id), "Product fetched successfully"));
+    @Operation(summary = "Get a single product by ID; include=items adds its items")
+    public ResponseEntity<ApiResponse<ProductDto>> getProductById(@PathVariable Long id,
+            @RequestParam(required = false) String include, WebRequest request) {
+        boolean includeItems = includesItems(include);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            long version = productService.getProductVersion(id);
+            String currentTag = includeItems
+                    ? ETags.forProductWithItems(version, itemService.getItemsETag(id))
+                    : ETags.forVersion(version);
+            if (request.checkNotModified(currentTag)) {
+                return null;
+            }
+        }
+        ProductDto product = productService.getProductById(id, includeItems);
+        String etag = includeItems
+                ? ETags.forProductWithItems(product.getVersion(), ItemService.itemsETag(product.getItems()))
+                : ETags.forVersion(product.getVersion());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(ApiResponse.success(product, "Product fetched successfully"));
     }
 
     @PostMapping
@@ -58,24 +143,82 @@ public class ProductController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update an existing product (ADMIN only)")
     public ResponseEntity<ApiResponse<ProductDto>> updateProduct(@PathVariable Long id,
-            @Valid @RequestBody ProductDto productDto) {
-        return ResponseEntity
-                .ok(ApiResponse.success(productService.updateProduct(id, productDto), "Product updated successfully"));
+            @Valid @RequestBody ProductDto productDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductDto updated = productService.updateProduct(id, productDto, ETags.parseVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.forVersion(updated.getVersion()))
+                .body(ApiResponse.success(updated, "Product updated successfully"));
+    }
+
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Partially update a product with a single UPDATE (ADMIN only)")
+    public ResponseEntity<ApiResponse<Void>> patchProduct(@PathVariable Long id,
+            @Valid @RequestBody ProductPatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = productService.patchProduct(id, patch, ETags.parseVersion(ifMatch));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (version != null) {
+            response.eTag(ETags.forVersion(version));
+        }
+        return response.body(ApiResponse.success(null, "Product updated successfully"));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete a product (ADMIN only)")
-    public ResponseEntity<ApiResponse<Void>> deleteProduct(@PathVariable Long id) {
-        productService.deleteProduct(id);
+    public ResponseEntity<ApiResponse<Void>> deleteProduct(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        productService.deleteProduct(id, ETags.parseVersion(ifMatch));
         return ResponseEntity.ok(ApiResponse.success(null, "Product deleted successfully"));
     }
 
+    @DeleteMapping(params = "ids")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete several products and their items in one call (ADMIN only)")
+    public ResponseEntity<ApiResponse<ProductDeleteResult>> deleteProducts(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.success(productService.deleteProducts(ids), "Products deleted"));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create, update and delete many products in one call (ADMIN only)")
+    public ResponseEntity<ApiResponse<List<ProductBatchResult>>> batchProducts(
+            @Valid @RequestBody ProductBatchRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(productBatchService.execute(request), "Batch executed"));
+    }
+
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import products and items from a CSV or NDJSON stream (ADMIN only)")
+    public ResponseEntity<ApiResponse<ImportReport>> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ImportReport report = productImportService.importProducts(ExportFormat.fromMediaType(contentType), body);
+        return ResponseEntity.ok(ApiResponse.success(report, "Import finished"));
+    }
+
     @GetMapping("/{id}/items")
     @Operation(summary = "Get all items belonging to a specific product")
-    public ResponseEntity<ApiResponse<List<ItemDto>>> getItemsByProductId(@PathVariable Long id) {
-        return ResponseEntity
-                .ok(ApiResponse.success(itemService.getItemsByProductId(id), "Items fetched successfully"));
+    public ResponseEntity<ApiResponse<List<ItemDto>>> getItemsByProductId(@PathVariable Long id,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(itemService.getItemsETag(id))) {
+            return null;
+        }
+        List<ItemDto> items = itemService.getItemsByProductId(id);
+        return ResponseEntity.ok()
+                .eTag(ItemService.itemsETag(items))
+                .body(ApiResponse.success(items, "Items fetched successfully"));
+    }
+
+    @GetMapping("/{id}/items/scroll")
+    @Operation(summary = "Get a product's items with cursor (keyset) pagination by item id")
+    public ResponseEntity<ApiResponse<CursorPage<ItemDto>>> scrollItemsByProductId(@PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(itemService.scrollItemsByProductId(id, after, size),
+                "Items fetched successfully"));
     }
 
     @PostMapping("/{id}/items")
@@ -87,10 +230,46 @@ public class ProductController {
                 .ok(ApiResponse.success(itemService.addItemToProduct(id, itemDto), "Item added successfully"));
     }
 
-    @GetMapping("/export-simulation")
-    @Operation(summary = "Simulate a heavy async export operation")
-    public ResponseEntity<ApiResponse<String>> exportSimulation() {
-        productService.simulateSlowExport();
-        return ResponseEntity.accepted().body(ApiResponse.success("Export started in background", "Accepted"));
+    @PostMapping("/{id}/items/{itemId}/stock/increment")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Atomically add stock to an item; 202 when the increment is coalesced (ADMIN only)")
+    public ResponseEntity<ApiResponse<StockAdjustmentDto>> incrementStock(@PathVariable Long id,
+            @PathVariable Long itemId, @Valid @RequestBody StockAdjustmentRequest request) {
+        StockAdjustmentDto result = stockService.increment(id, itemId, request.amount());
+        return ResponseEntity.status(result.pending() ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .body(ApiResponse.success(result, "Stock adjusted"));
+    }
+
+    @PostMapping("/{id}/items/{itemId}/stock/decrement")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Atomically remove stock from an item; 409 when stock is insufficient (ADMIN only)")
+    public ResponseEntity<ApiResponse<StockAdjustmentDto>> decrementStock(@PathVariable Long id,
+            @PathVariable Long itemId, @Valid @RequestBody StockAdjustmentRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(stockService.decrement(id, itemId, request.amount()),
+                "Stock adjusted"));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all products and their items as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = outputStream -> productExportService.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private static boolean includesItems(String include) {
+        if (include == null || include.isBlank()) {
+            return false;
+        }
+        if (!"items".equalsIgnoreCase(include.trim())) {
+            throw new BadRequestException("Unsupported include: " + include);
+        }
+        return true;
     }
 }
@@ -0,0 +1,63 @@
+package com.zest.product.management.controller;
+
+import com.zest.product.management.dto.ReservationDto;
+import com.zest.product.management.dto.ReservationRequest;
+import com.zest.product.management.service.ReservationService;
+import com.zest.product.management.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for checkout stock reservations.
+ * Base path: /api/v1/reservations
+ * Reservations are visible only to the user who created them.
+ */
+@RestController
+@RequestMapping("/api/v1/reservations")
+@RequiredArgsConstructor
+@Tag(name = "Stock Reservations", description = "Endpoints for holding item stock during checkout")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    @Operation(summary = "Hold a quantity of an item until it is confirmed, released or expires")
+    public ResponseEntity<ApiResponse<ReservationDto>> reserve(@Valid @RequestBody ReservationRequest request,
+            Authentication authentication) {
+        ReservationDto reservation = reservationService.reserve(authentication.getName(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(reservation, "Stock reserved"));
+    }
+
+    @GetMapping("/{reservationId}")
+    @Operation(summary = "Get a held reservation")
+    public ResponseEntity<ApiResponse<ReservationDto>> getReservation(@PathVariable String reservationId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reservationService.getReservation(authentication.getName(), reservationId),
+                "Reservation fetched successfully"));
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    @Operation(summary = "Confirm a reservation, taking its quantity off the item's stock")
+    public ResponseEntity<ApiResponse<ReservationDto>> confirm(@PathVariable String reservationId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reservationService.confirm(authentication.getName(), reservationId), "Reservation confirmed"));
+    }
+
+    @DeleteMapping("/{reservationId}")
+    @Operation(summary = "Release a reservation without taking any stock")
+    public ResponseEntity<ApiResponse<ReservationDto>> release(@PathVariable String reservationId,
+            Authentication authentication) {
+        return ResponseEntity.ok(ApiResponse.success(
+                reservationService.release(authentication.getName(), reservationId), "Reservation released"));
+    }
+}
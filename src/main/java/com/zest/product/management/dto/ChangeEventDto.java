@@ -0,0 +1,16 @@
+package com.zest.product.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * One committed product or item change. Sequence numbers increase
+ * monotonically; item events carry their product id, whose version and
+ * total quantity changed with the item. Version is null when the writer
+ * does not know it: deletes, stock adjustments and imports.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEventDto(long sequence, String entity, String type, Long productId, Long itemId, Long version,
+        Instant occurredAt) {
+}
@@ -0,0 +1,10 @@
+package com.zest.product.management.dto;
+
+import java.util.List;
+
+/**
+ * A slice of results from keyset pagination. Pass nextCursor as the "after"
+ * parameter to fetch the following slice; it is null on the last slice.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+}
@@ -0,0 +1,19 @@
+package com.zest.product.management.dto;
+
+import java.time.Instant;
+
+/**
+ * Status of a background export job. percentComplete is estimated from the
+ * product count taken when the job started.
+ */
+public record ExportJobDto(
+        String id,
+        String format,
+        String status,
+        long rowsWritten,
+        long totalRows,
+        int percentComplete,
+        Instant createdAt,
+        Instant completedAt,
+        String error) {
+}
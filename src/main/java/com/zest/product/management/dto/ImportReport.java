@@ -0,0 +1,21 @@
+package com.zest.product.management.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first rows that failed are listed;
+ * errorsTruncated is set when more failed than were reported.
+ */
+public record ImportReport(
+        long rowsRead,
+        long rowsImported,
+        long rowsFailed,
+        long productsCreated,
+        long productsMatched,
+        long itemsCreated,
+        List<RowError> errors,
+        boolean errorsTruncated) {
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.zest.product.management.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Mixed product operations executed by one batch call. id is required for
+ * UPDATE and DELETE; version, when given, must match the current version.
+ */
+public record ProductBatchRequest(
+        @NotEmpty(message = "At least one operation is required") @Valid List<@NotNull Operation> operations) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    public record Operation(
+            @NotNull(message = "Operation type is required") Type op,
+            Long id,
+            String productName,
+            Long version) {
+    }
+}
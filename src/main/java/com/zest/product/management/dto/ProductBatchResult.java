@@ -0,0 +1,15 @@
+package com.zest.product.management.dto;
+
+/**
+ * Outcome of one batch operation, in request order. status is one of
+ * CREATED, UPDATED, DELETED, NOT_FOUND, VERSION_CONFLICT, NAME_CONFLICT,
+ * INVALID or FAILED; version is the product version after the operation.
+ */
+public record ProductBatchResult(
+        int index,
+        String op,
+        Long id,
+        String status,
+        Long version,
+        String message) {
+}
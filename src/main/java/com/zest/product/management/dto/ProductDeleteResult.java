@@ -0,0 +1,10 @@
+package com.zest.product.management.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a multi-delete: ids that were deleted and ids that did not
+ * exist, each in request order.
+ */
+public record ProductDeleteResult(List<Long> deleted, List<Long> notFound) {
+}
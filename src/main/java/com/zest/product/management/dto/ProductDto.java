@@ -1,9 +1,11 @@
 package com.zest.product.management.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class ProductDto {
@@ -16,4 +18,10 @@ public class ProductDto {
     private LocalDateTime createdOn;
     private String modifiedBy;
     private LocalDateTime modifiedOn;
+    private Long version;
+    private Long totalQuantity;
+
+    // Only populated when items are requested with include=items
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ItemDto> items;
 }
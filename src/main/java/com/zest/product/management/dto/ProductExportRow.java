@@ -0,0 +1,20 @@
+package com.zest.product.management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat product/item row read by the streaming export. Products without items
+ * produce a single row with null item columns.
+ */
+public record ProductExportRow(
+        Long productId,
+        String productName,
+        String createdBy,
+        LocalDateTime createdOn,
+        String modifiedBy,
+        LocalDateTime modifiedOn,
+        Long productVersion,
+        Long itemId,
+        Integer quantity,
+        Long itemVersion) {
+}
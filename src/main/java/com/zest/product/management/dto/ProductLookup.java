@@ -0,0 +1,8 @@
+package com.zest.product.management.dto;
+
+/**
+ * One entry of a multi-get response, in request order; product is null when
+ * the id was not found.
+ */
+public record ProductLookup(Long id, boolean found, ProductDto product) {
+}
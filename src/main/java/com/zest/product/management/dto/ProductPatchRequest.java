@@ -0,0 +1,11 @@
+package com.zest.product.management.dto;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Partial product update; absent fields are left unchanged. version, when
+ * given, must match the product's current version.
+ */
+public record ProductPatchRequest(@Size(max = 255, message = "Product name must be at most 255 characters")
+        String productName, Long version) {
+}
@@ -0,0 +1,7 @@
+package com.zest.product.management.dto;
+
+/**
+ * Per-product item aggregates, computed with a GROUP BY over item.product_id.
+ */
+public record ProductSummaryDto(Long id, String productName, Long itemCount, Long totalQuantity) {
+}
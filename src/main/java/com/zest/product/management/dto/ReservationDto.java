@@ -0,0 +1,17 @@
+package com.zest.product.management.dto;
+
+import java.time.Instant;
+
+/**
+ * State of a stock reservation. Status is HELD until it is confirmed,
+ * released or expires.
+ */
+public record ReservationDto(
+        String id,
+        Long productId,
+        Long itemId,
+        Integer quantity,
+        String status,
+        Instant createdAt,
+        Instant expiresAt) {
+}
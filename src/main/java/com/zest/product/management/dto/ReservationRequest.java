@@ -0,0 +1,17 @@
+package com.zest.product.management.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Quantity of an item to hold; ttlSeconds defaults to the configured hold time.
+ */
+public record ReservationRequest(
+        @NotNull(message = "Product id is required") Long productId,
+        @NotNull(message = "Item id is required") Long itemId,
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be positive")
+        @Max(value = 1_000_000, message = "Quantity must be at most 1000000") Integer quantity,
+        @Positive(message = "ttlSeconds must be positive") Integer ttlSeconds) {
+}
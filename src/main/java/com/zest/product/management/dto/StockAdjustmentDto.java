@@ -0,0 +1,8 @@
+package com.zest.product.management.dto;
+
+/**
+ * Outcome of a stock adjustment. When the adjustment was coalesced it is
+ * pending until the next flush and quantity is null.
+ */
+public record StockAdjustmentDto(Long productId, Long itemId, Integer quantity, boolean pending) {
+}
@@ -0,0 +1,14 @@
+package com.zest.product.management.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Amount to add to or remove from an item's stock.
+ */
+public record StockAdjustmentRequest(
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        @Max(value = 1_000_000, message = "Amount must be at most 1000000") Integer amount) {
+}
@@ -0,0 +1,48 @@
+package com.zest.product.management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a committed product or item change, read by delta
+ * sync clients in seq order. seq is null until the sequencer numbers the
+ * committed row (see ChangeLog). entity_id is the product id for product
+ * changes and the item id for item changes.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_seq", columnList = "seq", unique = true),
+        @Index(name = "idx_change_log_entity", columnList = "entity, entity_id, seq")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long seq;
+
+    @Column(nullable = false, length = 16)
+    private String entity;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    private Long version;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -1,12 +1,13 @@
 package com.zest.product.management.entity;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
 
 /**
  * Item entity representing stock/quantity associated with a product.
  * Indexed on product_id for faster lookups.
+ * The version column drives optimistic locking and the item list ETag.
  */
 @Entity
 @Table(name = "item", indexes = {
@@ -27,7 +28,12 @@ public class Item {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
-    @Positive(message = "Quantity must be a positive number")
+    // New items need a positive quantity (see ItemDto); decrements may take stock down to zero
+    @PositiveOrZero(message = "Quantity must not be negative")
     @Column(nullable = false)
     private Integer quantity;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
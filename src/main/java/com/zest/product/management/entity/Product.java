@@ -3,17 +3,25 @@ package com.zest.product.management.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Product entity representing the main product record.
- * Includes indexing on productName for performance and uniqueness constraints.
+ * Includes indexing on productName for performance and uniqueness constraints,
+ * plus (column, id) indexes for every sort key listings allow.
+ * The version column drives optimistic locking and the product ETag.
+ * totalQuantity is the denormalized sum of item quantities, kept up to date
+ * by atomic increments wherever items are added.
  */
 @Entity
 @Table(name = "product", indexes = {
-        @Index(name = "idx_product_name", columnList = "product_name")
+        @Index(name = "idx_product_name", columnList = "product_name"),
+        @Index(name = "idx_product_created_on", columnList = "created_on, id"),
+        @Index(name = "idx_product_modified_on", columnList = "modified_on, id"),
+        @Index(name = "idx_product_total_quantity", columnList = "total_quantity, id")
 })
 @Getter
 @Setter
@@ -30,6 +38,16 @@ public class Product extends BaseEntity {
     @Column(name = "product_name", nullable = false, unique = true)
     private String productName;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // A plain default rather than columnDefinition, which Hibernate would also use to cast increments
+    @Column(name = "total_quantity", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long totalQuantity = 0L;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Item> items = new ArrayList<>();
@@ -7,9 +7,12 @@ import java.time.Instant;
 
 /**
  * Entity to store Refresh Tokens for security rotation logic.
+ * Indexed on expiry_date so the purge job can range-scan expired rows.
  */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.zest.product.management.entity;
 
+import com.zest.product.management.security.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,6 +12,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
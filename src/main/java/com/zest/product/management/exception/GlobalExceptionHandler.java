@@ -1,14 +1,18 @@
 package com.zest.product.management.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
  * Global exception handler to capture all exceptions and return standardized
@@ -41,6 +45,78 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
         }
 
+        @ExceptionHandler(BadRequestException.class)
+        public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex, WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.BAD_REQUEST.value())
+                                .errorCode("BAD_REQUEST")
+                                .message(ex.getMessage())
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(ConflictException.class)
+        public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex, WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.CONFLICT.value())
+                                .errorCode("CONFLICT")
+                                .message(ex.getMessage())
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+
+        @ExceptionHandler(TooManyRequestsException.class)
+        public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex,
+                        WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                                .errorCode("TOO_MANY_REQUESTS")
+                                .message(ex.getMessage())
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        @ExceptionHandler(PreconditionFailedException.class)
+        public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex,
+                        WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.PRECONDITION_FAILED.value())
+                                .errorCode("PRECONDITION_FAILED")
+                                .message(ex.getMessage())
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+        }
+
+        @ExceptionHandler(OptimisticLockingFailureException.class)
+        public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+                        OptimisticLockingFailureException ex, WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.CONFLICT.value())
+                                .errorCode("VERSION_CONFLICT")
+                                .message("The resource was modified concurrently. Reload it and retry.")
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+
+        @ExceptionHandler(ServiceUnavailableException.class)
+        public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex,
+                        WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .errorCode("SERVICE_BUSY")
+                                .message(ex.getMessage())
+                                .path(request.getDescription(false))
+                                .build();
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                                .body(errorResponse);
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex,
                         WebRequest request) {
@@ -55,6 +131,30 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(HttpMessageNotReadableException.class)
+        public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex,
+                        WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.BAD_REQUEST.value())
+                                .errorCode("MALFORMED_REQUEST")
+                                .message("Request body is missing or malformed.")
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+        public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+                        MethodArgumentTypeMismatchException ex, WebRequest request) {
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .status(HttpStatus.BAD_REQUEST.value())
+                                .errorCode("BAD_REQUEST")
+                                .message("Invalid value for parameter '" + ex.getName() + "'")
+                                .path(request.getDescription(false))
+                                .build();
+                return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+
         @ExceptionHandler(AccessDeniedException.class)
         public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
                 ErrorResponse errorResponse = ErrorResponse.builder()
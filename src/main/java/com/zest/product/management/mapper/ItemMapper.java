@@ -11,5 +11,6 @@ public interface ItemMapper {
     ItemDto toDto(Item item);
 
     @Mapping(target = "product", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Item toEntity(ItemDto itemDto);
 }
@@ -7,8 +7,14 @@ import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
+    @Mapping(target = "items", ignore = true)
     ProductDto toDto(Product product);
 
+    // Shallow copy, so cached instances are never modified
+    ProductDto copy(ProductDto productDto);
+
     @Mapping(target = "items", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "totalQuantity", ignore = true)
     Product toEntity(ProductDto productDto);
 }
@@ -0,0 +1,32 @@
+package com.zest.product.management.repository;
+
+import com.zest.product.management.entity.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Range scan of the unique seq index
+    List<ChangeLogEntry> findBySeqGreaterThanOrderBySeq(long seq, Limit limit);
+
+    @Query("select c.id from ChangeLogEntry c where c.seq is null order by c.id")
+    List<Long> findUnsequencedIds(Limit limit);
+
+    @Query("select max(c.seq) from ChangeLogEntry c")
+    Optional<Long> findMaxSeq();
+
+    // Changes after the given id followed by a later change of the same entity; probed through
+    // (entity, entity_id, seq). Paging by id keeps each pass from rescanning rows already checked.
+    @Query("select c.id from ChangeLogEntry c where c.id > :afterId and c.seq is not null and exists ("
+            + "select n.id from ChangeLogEntry n where n.entity = c.entity and n.entityId = c.entityId "
+            + "and n.seq > c.seq) order by c.id")
+    List<Long> findSupersededIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+}
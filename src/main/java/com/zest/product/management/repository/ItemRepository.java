@@ -2,14 +2,58 @@ package com.zest.product.management.repository;
 
 import com.zest.product.management.entity.Item;
 import com.zest.product.management.entity.Product;
+import com.zest.product.management.dto.ItemDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByProduct(Product product);
 
     List<Item> findByProductId(Long productId);
+
+    List<Item> findByProductIdInOrderById(Collection<Long> productIds);
+
+    /**
+     * Items of a product with id greater than after, ordered by id, as DTOs
+     * (no entity hydration). The product is the driving row, so an empty
+     * result means it does not exist and a single row with a null id means
+     * it has no items past the cursor.
+     */
+    @Query("select new com.zest.product.management.dto.ItemDto(i.id, p.id, i.quantity, i.version) "
+            + "from Product p left join p.items i on i.id > :after where p.id = :productId order by i.id")
+    List<ItemDto> findItemRowsByProductId(@Param("productId") Long productId, @Param("after") Long after,
+            Limit limit);
+
+    // Conditional stock change: applies only if the item belongs to the product and stock stays non-negative
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item i set i.quantity = i.quantity + :delta, i.version = i.version + 1 "
+            + "where i.id = :itemId and i.product.id = :productId and i.quantity + :delta >= 0")
+    int adjustQuantity(@Param("productId") Long productId, @Param("itemId") Long itemId, @Param("delta") int delta);
+
+    @Query("select i.quantity from Item i where i.id = :itemId and i.product.id = :productId")
+    Optional<Integer> findQuantity(@Param("productId") Long productId, @Param("itemId") Long itemId);
+
+    boolean existsByIdAndProductId(Long id, Long productId);
+
+    // Aggregate fingerprint of a product's items; empty when the product does not exist
+    @Query("select count(i.id) as itemCount, coalesce(sum(i.version), 0) as versionSum, coalesce(max(i.id), 0) as maxId "
+            + "from Product p left join p.items i where p.id = :productId group by p.id")
+    Optional<ItemListVersion> findListVersionByProductId(@Param("productId") Long productId);
+
+    interface ItemListVersion {
+        Long getItemCount();
+
+        Long getVersionSum();
+
+        Long getMaxId();
+    }
 }
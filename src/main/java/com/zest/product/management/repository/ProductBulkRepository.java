@@ -0,0 +1,165 @@
+package com.zest.product.management.repository;
+
+import com.zest.product.management.util.ProductNames;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC writes for bulk operations. Inserts go through JDBC batches
+ * instead of Hibernate, whose IDENTITY ids disable insert batching; ids of new
+ * products are resolved afterwards through the unique product_name index.
+ * Callers own the transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Keyed by ProductNames.normalize: the database matches names under its collation, not exactly
+    public Map<String, Long> findIdsByNormalizedName(Collection<String> productNames) {
+        Map<String, Long> ids = new HashMap<>();
+        if (productNames.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query("SELECT id, product_name FROM product WHERE product_name IN (:names)",
+                new MapSqlParameterSource("names", productNames),
+                rs -> {
+                    ids.put(ProductNames.normalize(rs.getString("product_name")), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public void insertProducts(List<String> productNames, String auditor, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO product (product_name, created_by, created_on, modified_by, modified_on, version, "
+                        + "total_quantity) VALUES (?, ?, ?, ?, ?, 0, 0)",
+                productNames, productNames.size(), (ps, name) -> {
+                    ps.setString(1, name);
+                    ps.setString(2, auditor);
+                    ps.setTimestamp(3, timestamp);
+                    ps.setString(4, auditor);
+                    ps.setTimestamp(5, timestamp);
+                });
+    }
+
+    public void insertItems(List<NewItem> items) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO item (product_id, quantity, version) VALUES (?, ?, 0)",
+                items, items.size(), (ps, item) -> {
+                    ps.setLong(1, item.productId());
+                    ps.setInt(2, item.quantity());
+                });
+    }
+
+    /**
+     * Adds each delta to its item's quantity in one JDBC batch, in list order.
+     * Returns the per-statement update counts; 0 means the item is gone.
+     */
+    public int[] addToItemQuantities(List<QuantityDelta> deltas) {
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE item SET quantity = quantity + ?, version = version + 1 WHERE id = ? AND product_id = ?",
+                deltas.stream().map(delta -> new Object[] { delta.delta(), delta.itemId(), delta.productId() })
+                        .toList());
+    }
+
+    // Atomic increments of the denormalized total_quantity; the version moves with it
+    public void addToTotalQuantities(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = List.copyOf(deltas.entrySet());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE product SET total_quantity = total_quantity + ?, version = version + 1 WHERE id = ?",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    /**
+     * Returns id -> version for the products that exist, locking their rows
+     * until the surrounding transaction ends.
+     */
+    public Map<Long, Long> lockVersionsByIds(Collection<Long> ids) {
+        Map<Long, Long> versions = new HashMap<>();
+        if (ids.isEmpty()) {
+            return versions;
+        }
+        jdbcTemplate.query("SELECT id, version FROM product WHERE id IN (:ids) FOR UPDATE",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    versions.put(rs.getLong("id"), rs.getLong("version"));
+                });
+        return versions;
+    }
+
+    public void updateProductNames(List<NameUpdate> updates, String auditor, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE product SET product_name = ?, modified_by = ?, modified_on = ?, version = version + 1 "
+                        + "WHERE id = ?",
+                updates, updates.size(), (ps, update) -> {
+                    ps.setString(1, update.productName());
+                    ps.setString(2, auditor);
+                    ps.setTimestamp(3, timestamp);
+                    ps.setLong(4, update.id());
+                });
+    }
+
+    // Items first: item.product_id references product.id
+    public int deleteProductsWithItems(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("DELETE FROM item WHERE product_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM product WHERE id IN (:ids)", params);
+    }
+
+    public void insertChanges(List<NewChange> changes) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO change_log (entity, entity_id, product_id, type, version, occurred_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                changes, changes.size(), (ps, change) -> {
+                    ps.setString(1, change.entity());
+                    ps.setLong(2, change.entityId());
+                    ps.setLong(3, change.productId());
+                    ps.setString(4, change.type());
+                    ps.setObject(5, change.version(), Types.BIGINT);
+                    ps.setTimestamp(6, Timestamp.from(change.occurredAt()));
+                });
+    }
+
+    // Numbers the given change rows consecutively from firstSeq, in list order
+    public void assignChangeSequences(List<Long> ids, long firstSeq) {
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            args.add(new Object[] { firstSeq + i, ids.get(i) });
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate("UPDATE change_log SET seq = ? WHERE id = ?", args);
+    }
+
+    public record NewItem(long productId, int quantity) {
+    }
+
+    public record NameUpdate(long id, String productName) {
+    }
+
+    public record QuantityDelta(long productId, long itemId, long delta) {
+    }
+
+    public record NewChange(String entity, long entityId, long productId, String type, Long version,
+            Instant occurredAt) {
+    }
+}
@@ -1,14 +1,89 @@
 package com.zest.product.management.repository;
 
+import com.zest.product.management.dto.ProductExportRow;
+import com.zest.product.management.dto.ProductSummaryDto;
 import com.zest.product.management.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    String EXPORT_FETCH_SIZE = "1000";
+
     Optional<Product> findByProductName(String productName);
 
     boolean existsByProductName(String productName);
+
+    // Keyset scrolling: seeks past the position, fetches limit + 1 rows, no count query
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Version-only lookup for conditional requests, no entity is hydrated
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Atomic stock increment; bumps the version because totalQuantity is part of the product representation
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.totalQuantity = p.totalQuantity + :delta, p.version = p.version + 1 "
+            + "where p.id = :id")
+    int addToTotalQuantity(@Param("id") Long id, @Param("delta") long delta);
+
+    // Single-statement rename with auditing; 0 rows means missing (or, with a version, stale)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.productName = :name, p.modifiedBy = :auditor, p.modifiedOn = :now, "
+            + "p.version = p.version + 1 where p.id = :id")
+    int patchProductName(@Param("id") Long id, @Param("name") String name, @Param("auditor") String auditor,
+            @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.productName = :name, p.modifiedBy = :auditor, p.modifiedOn = :now, "
+            + "p.version = p.version + 1 where p.id = :id and p.version = :version")
+    int patchProductNameAtVersion(@Param("id") Long id, @Param("version") long version, @Param("name") String name,
+            @Param("auditor") String auditor, @Param("now") LocalDateTime now);
+
+    // Item aggregates in one GROUP BY; the filter and sort use the denormalized total_quantity index
+    @Query(value = "select new com.zest.product.management.dto.ProductSummaryDto(p.id, p.productName, "
+            + "count(i.id), coalesce(sum(i.quantity), 0)) "
+            + "from Product p left join p.items i where p.totalQuantity >= :minTotalQuantity group by p.id",
+            countQuery = "select count(p) from Product p where p.totalQuantity >= :minTotalQuantity")
+    Page<ProductSummaryDto> findSummaries(@Param("minTotalQuantity") long minTotalQuantity, Pageable pageable);
+
+    @Query("select new com.zest.product.management.dto.ProductSummaryDto(p.id, p.productName, "
+            + "count(i.id), coalesce(sum(i.quantity), 0)) "
+            + "from Product p left join p.items i where p.id = :id group by p.id")
+    Optional<ProductSummaryDto> findSummaryById(@Param("id") Long id);
+
+    // Forward-only export cursor: scalar rows (nothing enters the persistence context), fixed fetch size.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.zest.product.management.dto.ProductExportRow(p.id, p.productName, p.createdBy, "
+            + "p.createdOn, p.modifiedBy, p.modifiedOn, p.version, i.id, i.quantity, i.version) "
+            + "from Product p left join p.items i order by p.id, i.id")
+    Stream<ProductExportRow> streamExportRows();
+
+    // All names for rebuilding the name filter; same cursor settings as the export
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.productName from Product p")
+    Stream<String> streamProductNames();
 }
@@ -0,0 +1,196 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.RefreshToken;
+import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.RefreshTokenRepository;
+import com.zest.product.management.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh token store that serves lookups and rotations from memory and
+ * writes changes to the refresh_tokens table asynchronously (write-behind).
+ * Rotation is O(1): the per-user entry is swapped atomically inside
+ * ConcurrentHashMap.compute, so only callers for the same user contend.
+ * Pending writes are coalesced per user (latest state wins) and flushed in
+ * batches by a single scheduled writer. The table is reloaded on startup.
+ * Intended for single-instance deployments; use the jpa store otherwise.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "zest.app.refreshTokenStore", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore, SmartInitializingSingleton {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, RefreshToken> tokensByValue = new ConcurrentHashMap<>();
+    private final Map<Long, RefreshToken> tokensByUser = new ConcurrentHashMap<>();
+    // Latest unsaved state per user; a token with a null value marks a delete
+    private final Map<Long, RefreshToken> pendingWrites = new ConcurrentHashMap<>();
+
+    @Value("${zest.app.refreshTokenFlushBatchSize:500}")
+    private int flushBatchSize;
+
+    public InMemoryRefreshTokenStore(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+            PlatformTransactionManager transactionManager) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<RefreshToken> persisted = transactionTemplate.execute(
+                status -> refreshTokenRepository.findByExpiryDateAfter(Instant.now()).stream()
+                        .map(token -> newToken(token.getUser().getId(), token.getUser().getUsername(),
+                                token.getToken(), token.getExpiryDate()))
+                        .toList());
+        persisted.forEach(token -> {
+            tokensByUser.put(token.getUser().getId(), token);
+            tokensByValue.put(token.getToken(), token);
+        });
+        log.info("Recovered {} active refresh tokens into memory", persisted.size());
+    }
+
+    @Override
+    public Optional<RefreshToken> findByToken(String token) {
+        return Optional.ofNullable(tokensByValue.get(token));
+    }
+
+    @Override
+    public RefreshToken rotate(Long userId, String username, Instant expiryDate) {
+        RefreshToken refreshToken = newToken(userId, username, UUID.randomUUID().toString(), expiryDate);
+        tokensByUser.compute(userId, (id, previous) -> {
+            if (previous != null) {
+                tokensByValue.remove(previous.getToken());
+            }
+            tokensByValue.put(refreshToken.getToken(), refreshToken);
+            pendingWrites.put(id, refreshToken);
+            return refreshToken;
+        });
+        return refreshToken;
+    }
+
+    @Override
+    public void delete(RefreshToken token) {
+        Long userId = token.getUser().getId();
+        tokensByUser.computeIfPresent(userId, (id, current) -> {
+            if (!current.getToken().equals(token.getToken())) {
+                return current;
+            }
+            tokensByValue.remove(current.getToken());
+            pendingWrites.put(id, newToken(id, current.getUser().getUsername(), null, null));
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteByUserId(Long userId) {
+        RefreshToken current = tokensByUser.get(userId);
+        if (current == null) {
+            return 0;
+        }
+        delete(current);
+        return 1;
+    }
+
+    /**
+     * Writes pending rotations and deletes to the database in batches and
+     * drops expired tokens from memory.
+     */
+    @Scheduled(fixedDelayString = "${zest.app.refreshTokenFlushMs:500}")
+    public void flush() {
+        List<RefreshToken> batch = new ArrayList<>(flushBatchSize);
+        Iterator<Long> userIds = pendingWrites.keySet().iterator();
+        while (userIds.hasNext()) {
+            RefreshToken state = pendingWrites.remove(userIds.next());
+            if (state != null) {
+                batch.add(state);
+            }
+            if (batch.size() >= flushBatchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+        evictExpired();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing {} pending refresh token writes before shutdown", pendingWrites.size());
+        flush();
+    }
+
+    int pendingWriteCount() {
+        return pendingWrites.size();
+    }
+
+    private void writeBatch(List<RefreshToken> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                refreshTokenRepository.deleteByUserIdIn(batch.stream().map(token -> token.getUser().getId()).toList());
+                refreshTokenRepository.saveAll(batch.stream()
+                        .filter(token -> token.getToken() != null)
+                        .map(token -> RefreshToken.builder()
+                                .user(userRepository.getReferenceById(token.getUser().getId()))
+                                .token(token.getToken())
+                                .expiryDate(token.getExpiryDate())
+                                .build())
+                        .toList());
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() > 1) {
+                // Isolate the offending row(s), e.g. a token for a user deleted meanwhile
+                batch.forEach(token -> writeBatch(List.of(token)));
+            } else {
+                log.error("Dropping refresh token change for user {}: {}", batch.getFirst().getUser().getId(),
+                        e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to persist {} refresh token changes, will retry: {}", batch.size(), e.getMessage());
+            // Re-queue unless a newer state for the same user has arrived meanwhile
+            batch.forEach(token -> pendingWrites.putIfAbsent(token.getUser().getId(), token));
+        }
+    }
+
+    private void evictExpired() {
+        Instant now = Instant.now();
+        tokensByUser.values().removeIf(token -> {
+            if (token.getExpiryDate().isBefore(now)) {
+                tokensByValue.remove(token.getToken());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static RefreshToken newToken(Long userId, String username, String value, Instant expiryDate) {
+        return RefreshToken.builder()
+                .user(User.builder().id(userId).username(username).build())
+                .token(value)
+                .expiryDate(expiryDate)
+                .build();
+    }
+}
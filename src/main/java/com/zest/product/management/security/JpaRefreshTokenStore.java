@@ -0,0 +1,64 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.RefreshToken;
+import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.RefreshTokenRepository;
+import com.zest.product.management.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token store that reads and writes the refresh_tokens table
+ * synchronously on every call. Safe for multi-instance deployments.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "zest.app.refreshTokenStore", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public Optional<RefreshToken> findByToken(String token) {
+        return refreshTokenRepository.findByToken(token);
+    }
+
+    @Override
+    @Transactional
+    public RefreshToken rotate(Long userId, String username, Instant expiryDate) {
+        User user = userRepository.findById(userId).orElseThrow();
+
+        // Check if user already has a refresh token (Upsert/Rotation)
+        RefreshToken refreshToken = refreshTokenRepository.findByUser(user)
+                .orElse(new RefreshToken());
+
+        refreshToken.setUser(user);
+        refreshToken.setToken(UUID.randomUUID().toString());
+        refreshToken.setExpiryDate(expiryDate);
+
+        return refreshTokenRepository.saveAndFlush(refreshToken);
+    }
+
+    @Override
+    public void delete(RefreshToken token) {
+        refreshTokenRepository.delete(token);
+    }
+
+    @Override
+    @Transactional
+    public int deleteByUserId(Long userId) {
+        return userRepository.findById(userId)
+                .map(user -> {
+                    refreshTokenRepository.findByUser(user)
+                            .ifPresent(refreshTokenRepository::delete);
+                    return 1;
+                }).orElse(0);
+    }
+}
@@ -1,11 +1,13 @@
 package com.zest.product.management.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +21,9 @@ import java.io.IOException;
 
 /**
  * Filter that intercepts every request to validate JWT in Authorization header.
+ * In stateless mode the principal is built from the verified token claims;
+ * otherwise (or for tokens without role claims) the user is reloaded from the
+ * database so role changes apply immediately.
  */
 @Component
 @Slf4j
@@ -28,15 +33,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
 
+    @Value("${zest.app.jwtStatelessAuth:true}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtUtils.verifyJwtToken(jwt).orElse(null) : null;
+            if (claims != null) {
+                UserDetails userDetails = statelessAuth && jwtUtils.hasAuthorityClaims(claims)
+                        ? jwtUtils.getPrincipalFromClaims(claims)
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
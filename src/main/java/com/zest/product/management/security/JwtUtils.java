@@ -1,68 +1,151 @@
 package com.zest.product.management.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for JWT operations: generation, validation, and parsing.
  * Uses JJWT library for handling tokens safely.
+ * Access tokens carry the user id and role authorities as claims so requests
+ * can be authenticated without a database lookup.
+ * The signing key and parser are built once; verified claims are cached by
+ * token digest until the token expires.
  */
 @Component
 @Slf4j
 public class JwtUtils {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+
     @Value("${zest.app.jwtSecret:DefaultSecretKeyForTestingPurposesKeepItLongEnough12345}")
     private String jwtSecret;
 
     @Value("${zest.app.jwtExpirationMs:900000}") // 15 mins
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @Value("${zest.app.jwtCacheMaxSize:10000}") // 0 disables the verified-token cache
+    private long jwtCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = jwtCacheMaxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtCacheMaxSize)
+                        .expireAfter(new ExpireAtTokenExpiry())
+                        .build()
+                : null;
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        return generateTokenFromUserDetails((UserDetails) authentication.getPrincipal());
+    }
 
-        return Jwts.builder()
-                .subject(userPrincipal.getUsername())
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
-                .compact();
+    public String generateTokenFromUserDetails(UserDetails userPrincipal) {
+        Long userId = userPrincipal instanceof UserPrincipal principal ? principal.getId() : null;
+
+        return generateTokenFromUsername(userPrincipal.getUsername(), userId, userPrincipal.getAuthorities());
     }
 
-    public String generateTokenFromUsername(String username) {
-        return Jwts.builder()
+    public String generateTokenFromUsername(String username, Long userId,
+            Collection<? extends GrantedAuthority> authorities) {
+        List<String> roles = authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        JwtBuilder builder = Jwts.builder()
                 .subject(username)
+                .claim(CLAIM_ROLES, roles)
                 .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(new Date((new Date()).getTime() + jwtExpirationMs));
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        return builder.signWith(signingKey).compact();
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return getClaimsFromJwtToken(token).getSubject();
+    }
+
+    public Claims getClaimsFromJwtToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifies the token signature and expiry with a single parse and returns
+     * its claims, or empty when the token is invalid. Successfully verified
+     * tokens are served from the cache until they expire.
+     */
+    public Optional<Claims> verifyJwtToken(String authToken) {
+        if (verifiedTokens == null) {
+            return parseAndLog(authToken);
+        }
+
+        String digest = digest(authToken);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = parseAndLog(authToken);
+        claims.ifPresent(verified -> verifiedTokens.put(digest, verified));
+        return claims;
+    }
+
+    /**
+     * Returns true when the token carries enough claims to build a principal
+     * without consulting the database (tokens issued before claims were added
+     * do not).
+     */
+    public boolean hasAuthorityClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null && claims.get(CLAIM_ROLES) instanceof Collection<?>;
+    }
+
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Long userId = ((Number) claims.get(CLAIM_USER_ID)).longValue();
+        List<GrantedAuthority> authorities = ((Collection<?>) claims.get(CLAIM_ROLES)).stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+
+        return new UserPrincipal(userId, claims.getSubject(), null, null, authorities);
     }
 
     public boolean validateJwtToken(String authToken) {
+        return parseAndLog(authToken).isPresent();
+    }
+
+    private Optional<Claims> parseAndLog(String authToken) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken);
-            return true;
+            return Optional.of(getClaimsFromJwtToken(authToken));
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -71,7 +154,44 @@ public class JwtUtils {
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("JWT signature is invalid: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cached entry at the expiration time of its token.
+     */
+    private static class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -0,0 +1,80 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Background job that deletes expired refresh tokens in bounded chunks.
+ * Each batch is a single DELETE ... LIMIT n in its own short transaction,
+ * with a pause between batches so row locks are never held for long.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "zest.app.refreshTokenPurgeEnabled", havingValue = "true", matchIfMissing = true)
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedRows;
+    private final Timer batchTimer;
+
+    @Value("${zest.app.refreshTokenPurgeBatchSize:1000}")
+    private int batchSize;
+
+    @Value("${zest.app.refreshTokenPurgePauseMs:100}")
+    private long pauseMs;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedRows = Counter.builder("auth.refresh_token.purge.rows")
+                .description("Expired refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.refresh_token.purge.batch")
+                .description("Time spent per purge batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${zest.app.refreshTokenPurgeIntervalMs:3600000}",
+            initialDelayString = "${zest.app.refreshTokenPurgeInitialDelayMs:60000}")
+    public void purgeExpiredTokens() {
+        Instant cutoff = Instant.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = batchTimer.record(() -> transactionTemplate.execute(
+                    status -> refreshTokenRepository.deleteExpiredBatch(cutoff, batchSize)));
+            purgedRows.increment(deleted);
+            total += deleted;
+        } while (deleted >= batchSize && pause());
+
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens", total);
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Storage strategy for refresh tokens. Each user holds at most one active
+ * token; issuing a new one rotates (replaces) the previous token.
+ * Selected with zest.app.refreshTokenStore (jpa | memory).
+ */
+public interface RefreshTokenStore {
+
+    Optional<RefreshToken> findByToken(String token);
+
+    /**
+     * Issues a new token for the user, invalidating any previous one.
+     */
+    RefreshToken rotate(Long userId, String username, Instant expiryDate);
+
+    void delete(RefreshToken token);
+
+    int deleteByUserId(Long userId);
+}
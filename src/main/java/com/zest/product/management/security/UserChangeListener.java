@@ -0,0 +1,29 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns writes of a User row (registration, password
+ * change, removal) into a UserChangedEvent. Role changes only touch the
+ * user_roles collection, which JPA callbacks do not see; UserRoleChangeListener
+ * covers those. Instantiated by Spring through Hibernate's bean container.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.zest.product.management.security;
+
+/**
+ * Published whenever a user row is created, updated or removed so cached
+ * authentication data for that username can be invalidated.
+ */
+public record UserChangedEvent(String username) {
+}
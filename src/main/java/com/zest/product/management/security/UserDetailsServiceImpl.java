@@ -1,39 +1,102 @@
 package com.zest.product.management.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.zest.product.management.entity.User;
 import com.zest.product.management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.stream.Collectors;
+import java.time.Duration;
 
 /**
  * Service to load user-specific data from the database.
  * Used by Spring Security during the authentication process.
+ * Loaded users are kept in a bounded, TTL-based cache (metrics under
+ * cache.* with cache=userDetails) and evicted whenever the user changes.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.userCacheMaxSize:10000}") // 0 disables the cache
+    private long userCacheMaxSize;
+
+    @Value("${zest.app.userCacheTtlMs:60000}") // upper bound on staleness
+    private long userCacheTtlMs;
+
+    private Cache<String, UserPrincipal> userCache;
+
+    @PostConstruct
+    public void init() {
+        if (userCacheMaxSize > 0) {
+            userCache = Caffeine.newBuilder()
+                    .maximumSize(userCacheMaxSize)
+                    .expireAfterWrite(Duration.ofMillis(userCacheTtlMs))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+        }
+    }
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (userCache == null) {
+            return loadFromDatabase(username);
+        }
+        return userCache.get(username, this::loadFromDatabase);
+    }
+
+    /**
+     * Stores a password re-hashed with the current encoder settings. Called by
+     * DaoAuthenticationProvider after a successful login when the stored hash
+     * uses a weaker work factor.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User Not Found with username: " + userDetails.getUsername()));
+        log.info("Upgrading password hash for user: {}", user.getUsername());
+        user.setPassword(newPassword);
+        return UserPrincipal.build(userRepository.save(user));
+    }
+
+    public void evictUser(String username) {
+        if (userCache != null && username != null) {
+            userCache.invalidate(username);
+        }
+    }
+
+    // Runs after commit or rollback so a reload never sees the pre-change row
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting cached user details for: {}", event.username());
+        evictUser(event.username());
+    }
+
+    private UserPrincipal loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(user.getRoles().stream()
-                        .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                        .collect(Collectors.toList()))
-                .build();
+        return UserPrincipal.build(user);
     }
 }
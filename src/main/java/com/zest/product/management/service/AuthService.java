@@ -7,6 +7,7 @@ import com.zest.product.management.repository.RoleRepository;
 import com.zest.product.management.repository.UserRepository;
 import com.zest.product.management.security.JwtUtils;
 import com.zest.product.management.security.RefreshTokenService;
+import com.zest.product.management.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,7 +15,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -46,16 +46,16 @@ public class AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        List<String> roles = userPrincipal.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
-        User user = userRepository.findByUsername(userDetails.getUsername()).orElseThrow();
-        var refreshToken = refreshTokenService.createRefreshToken(user.getId());
+        var refreshToken = refreshTokenService.createRefreshToken(userPrincipal.getId(),
+                userPrincipal.getUsername());
 
-        return new JwtResponse(jwt, refreshToken.getToken(), user.getId(),
-                user.getUsername(), user.getEmail(), roles);
+        return new JwtResponse(jwt, refreshToken.getToken(), userPrincipal.getId(),
+                userPrincipal.getUsername(), userPrincipal.getEmail(), roles);
     }
 
     @Transactional
@@ -0,0 +1,243 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ChangeEventDto;
+import com.zest.product.management.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed product and item changes, handed over by ChangeLog, to
+ * Server-Sent Events subscribers. Events are numbered under one lock and
+ * kept in a bounded ring buffer that is the only copy: each subscriber is
+ * just a cursor into it, drained by its own virtual thread, so a slow
+ * consumer holds no events of its own. A client reconnecting with Last-Event-ID is replayed from the
+ * buffer. When the events it needs have already been overwritten, because it
+ * was away or is reading too slowly, it gets a "reset" event and should
+ * reload; a lagging subscriber is disconnected after the reset.
+ * Sequence numbers start from the startup time in microseconds, so they keep
+ * increasing across restarts. The feed is per instance; these sequence
+ * numbers are unrelated to the change log's seq.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ChangeFeed {
+
+    private static final int SEND_BATCH_SIZE = 128;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.changeFeedBufferSize:10000}")
+    private int bufferSize;
+
+    @Value("${zest.app.changeFeedMaxSubscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${zest.app.changeFeedTimeoutMs:1800000}")
+    private long timeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ChangeEventDto[] buffer;
+    private long firstSequence;
+    private long lastSequence;
+    private ExecutorService senders;
+    private Counter laggingCounter;
+
+    @PostConstruct
+    public void init() {
+        buffer = new ChangeEventDto[bufferSize];
+        firstSequence = System.currentTimeMillis() * 1000;
+        lastSequence = firstSequence;
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory());
+
+        Gauge.builder("products.changes.subscribers", subscribers, Set::size)
+                .description("Connected change feed subscribers")
+                .register(meterRegistry);
+        laggingCounter = Counter.builder("products.changes.lagging")
+                .description("Change feed subscribers disconnected for falling behind the buffer")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        synchronized (this) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new TooManyRequestsException("At most " + maxSubscribers + " change feed subscribers are allowed");
+            }
+            boolean known = lastEventId != null && lastEventId <= lastSequence && lastEventId >= oldestRetained() - 1;
+            subscriber.cursor = known ? lastEventId : lastSequence;
+            subscriber.resetPending = lastEventId != null && !known;
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        log.debug("Change feed subscriber connected at sequence {}", subscriber.cursor);
+        subscriber.signal();
+        return emitter;
+    }
+
+    ChangeEventDto publish(String entity, ChangeType type, Long productId, Long itemId, Long version) {
+        ChangeEventDto event;
+        synchronized (this) {
+            event = new ChangeEventDto(lastSequence + 1, entity, type.name(), productId, itemId, version,
+                    Instant.now());
+            buffer[index(event.sequence())] = event;
+            lastSequence = event.sequence();
+        }
+        subscribers.forEach(Subscriber::signal);
+        return event;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${zest.app.changeFeedHeartbeatMs:15000}",
+            initialDelayString = "${zest.app.changeFeedHeartbeatMs:15000}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> senders.execute(subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Up to max events after the given sequence, or null when some of them
+     * have already been overwritten.
+     */
+    private synchronized List<ChangeEventDto> eventsAfter(long sequence, int max) {
+        if (sequence < oldestRetained() - 1) {
+            return null;
+        }
+        long end = Math.min(lastSequence, sequence + max);
+        List<ChangeEventDto> events = new ArrayList<>((int) Math.max(0, end - sequence));
+        for (long next = sequence + 1; next <= end; next++) {
+            events.add(buffer[index(next)]);
+        }
+        return events;
+    }
+
+    private synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    private long oldestRetained() {
+        return Math.max(firstSequence + 1, lastSequence - buffer.length + 1);
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % buffer.length);
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(ChangeEventDto event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.sequence()))
+                .name(event.entity() + "." + event.type().toLowerCase(Locale.ROOT))
+                .data(event);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean resetPending;
+        // Last sequence sent; only the draining thread touches it after subscribe
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void signal() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resetPending) {
+                    sendReset();
+                    resetPending = false;
+                }
+                while (!closed) {
+                    List<ChangeEventDto> events = eventsAfter(cursor, SEND_BATCH_SIZE);
+                    if (events == null) {
+                        laggingCounter.increment();
+                        log.info("Disconnecting change feed subscriber that fell behind at sequence {}", cursor);
+                        cursor = lastSequence();
+                        sendReset();
+                        emitter.complete();
+                        close();
+                        return;
+                    }
+                    if (events.isEmpty()) {
+                        scheduled.set(false);
+                        // An event published after the read above may have found the flag still set
+                        if (cursor == lastSequence() || !scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    for (ChangeEventDto event : events) {
+                        emitter.send(toSseEvent(event));
+                        cursor = event.sequence();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change feed subscriber went away: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void sendReset() throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(cursor))
+                    .name("reset")
+                    .data(Map.of("sequence", cursor)));
+        }
+
+        private void heartbeat() {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
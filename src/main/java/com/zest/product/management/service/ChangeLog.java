@@ -0,0 +1,192 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ChangeEventDto;
+import com.zest.product.management.dto.CursorPage;
+import com.zest.product.management.entity.ChangeLogEntry;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.repository.ChangeLogRepository;
+import com.zest.product.management.repository.ProductBulkRepository;
+import com.zest.product.management.repository.ProductBulkRepository.NewChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox of product and item changes. Changes recorded during
+ * a transaction are inserted as one JDBC batch just before it commits, so
+ * they commit or roll back with the write, and are pushed to the SSE feed
+ * once it has committed.
+ * Delta sync reads rows by seq, which a single sequencer assigns to rows
+ * after they commit: identity ids follow insert order, not commit order, so
+ * a reader paging by id could skip a row whose transaction commits late.
+ * Compaction deletes changes superseded by a later change of the same
+ * entity, so the log grows with the number of entities, not of writes.
+ */
+@Component
+@Slf4j
+public class ChangeLog {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ProductBulkRepository productBulkRepository;
+    private final ChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${zest.app.changeLogMaxLimit:1000}")
+    private int maxLimit;
+
+    @Value("${zest.app.changeLogBatchSize:1000}")
+    private int batchSize;
+
+    public ChangeLog(ChangeLogRepository changeLogRepository, ProductBulkRepository productBulkRepository,
+            ChangeFeed changeFeed, PlatformTransactionManager transactionManager) {
+        this.changeLogRepository = changeLogRepository;
+        this.productBulkRepository = productBulkRepository;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void productChanged(ChangeType type, Long productId, Long version) {
+        record(new NewChange("product", productId, productId, type.name(), version, Instant.now()));
+    }
+
+    public void itemChanged(ChangeType type, Long productId, Long itemId, Long version) {
+        record(new NewChange("item", itemId, productId, type.name(), version, Instant.now()));
+    }
+
+    /**
+     * Sequenced changes after the given seq, oldest first. nextCursor is the
+     * seq to pass as since for the following slice, or null when caught up;
+     * clients keep the highest sequence they have applied.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ChangeEventDto> getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+        int size = Math.min(limit, maxLimit);
+        List<ChangeLogEntry> rows = changeLogRepository.findBySeqGreaterThanOrderBySeq(since, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<ChangeEventDto> changes = rows.stream().limit(size).map(ChangeLog::toDto).toList();
+        String nextCursor = hasMore ? String.valueOf(changes.get(changes.size() - 1).sequence()) : null;
+        return new CursorPage<>(changes, changes.size(), nextCursor);
+    }
+
+    /**
+     * Numbers committed rows that have no seq yet, continuing from the
+     * highest seq, and returns how many were numbered. Rows of transactions
+     * still in flight are invisible here and get a later seq once committed.
+     * Concurrent sequencers on other instances collide on the unique seq
+     * index; the loser rolls back and retries on its next run.
+     */
+    @Scheduled(fixedDelayString = "${zest.app.changeLogSequenceMs:200}")
+    public synchronized int assignSequences() {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Long> ids = changeLogRepository.findUnsequencedIds(Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                long first = changeLogRepository.findMaxSeq().orElse(0L) + 1;
+                productBulkRepository.assignChangeSequences(ids, first);
+                return ids.size();
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Change log sequencing collided with another instance: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes every change that a later change of the same entity supersedes,
+     * one batch per transaction, and returns the number deleted. A client
+     * that syncs afterwards still sees the latest change of each entity.
+     * Each batch resumes the scan after the last id deleted, so one run reads
+     * the log once however many batches it takes.
+     */
+    @Scheduled(fixedDelayString = "${zest.app.changeLogCompactionMs:3600000}",
+            initialDelayString = "${zest.app.changeLogCompactionMs:3600000}")
+    public int compact() {
+        int removed = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            long from = afterId;
+            ids = transactionTemplate.execute(status -> {
+                List<Long> batch = changeLogRepository.findSupersededIdsAfter(from, Limit.of(batchSize));
+                if (!batch.isEmpty()) {
+                    changeLogRepository.deleteAllByIdInBatch(batch);
+                }
+                return batch;
+            });
+            if (!ids.isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+            }
+            removed += ids.size();
+        } while (ids.size() == batchSize);
+        if (removed > 0) {
+            log.info("Compacted {} superseded change log entries", removed);
+        }
+        return removed;
+    }
+
+    private void record(NewChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productBulkRepository.insertChanges(List.of(change));
+            publish(change);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                pending.changes.add(change);
+                return;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        pending.changes.add(change);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void publish(NewChange change) {
+        boolean item = "item".equals(change.entity());
+        changeFeed.publish(change.entity(), ChangeType.valueOf(change.type()), change.productId(),
+                item ? change.entityId() : null, change.version());
+    }
+
+    private static ChangeEventDto toDto(ChangeLogEntry entry) {
+        boolean item = "item".equals(entry.getEntity());
+        return new ChangeEventDto(entry.getSeq(), entry.getEntity(), entry.getType(), entry.getProductId(),
+                item ? entry.getEntityId() : null, entry.getVersion(),
+                entry.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    // Changes of one transaction, written together before it commits
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<NewChange> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            productBulkRepository.insertChanges(changes);
+        }
+
+        @Override
+        public void afterCommit() {
+            changes.forEach(ChangeLog.this::publish);
+        }
+    }
+}
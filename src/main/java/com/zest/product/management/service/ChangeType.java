@@ -0,0 +1,10 @@
+package com.zest.product.management.service;
+
+/**
+ * Kind of change announced on the change feed.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
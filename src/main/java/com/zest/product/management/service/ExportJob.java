@@ -0,0 +1,124 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ExportJobDto;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mutable state of one export job, shared between the request threads and
+ * the export worker. Status moves QUEUED -> RUNNING -> a terminal state, or
+ * straight from QUEUED to CANCELLED; whoever leaves QUEUED or RUNNING
+ * releases the owner's concurrency slot.
+ */
+class ExportJob {
+
+    enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        boolean isActive() {
+            return this == QUEUED || this == RUNNING;
+        }
+    }
+
+    private final String id;
+    private final String owner;
+    private final ExportFormat format;
+    private final Path resultFile;
+    private final Instant createdAt = Instant.now();
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile long totalRows;
+    private volatile boolean cancelRequested;
+    private volatile Instant completedAt;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    ExportJob(String id, String owner, ExportFormat format, Path resultFile) {
+        this.id = id;
+        this.owner = owner;
+        this.format = format;
+        this.resultFile = resultFile;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    ExportFormat format() {
+        return format;
+    }
+
+    Path resultFile() {
+        return resultFile;
+    }
+
+    Status status() {
+        return status.get();
+    }
+
+    Instant completedAt() {
+        return completedAt;
+    }
+
+    boolean cancelRequested() {
+        return cancelRequested;
+    }
+
+    Future<?> future() {
+        return future;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    void setRowsWritten(long rows) {
+        rowsWritten.lazySet(rows);
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    boolean start() {
+        return status.compareAndSet(Status.QUEUED, Status.RUNNING);
+    }
+
+    boolean cancelIfQueued() {
+        if (status.compareAndSet(Status.QUEUED, Status.CANCELLED)) {
+            completedAt = Instant.now();
+            return true;
+        }
+        return false;
+    }
+
+    // Only the worker that started the job moves it out of RUNNING
+    void finish(Status terminal, String errorMessage) {
+        if (status.compareAndSet(Status.RUNNING, terminal)) {
+            error = errorMessage;
+            completedAt = Instant.now();
+        }
+    }
+
+    ExportJobDto toDto() {
+        Status current = status.get();
+        long rows = rowsWritten.get();
+        long total = totalRows;
+        int percent = current == Status.COMPLETED ? 100
+                : total > 0 ? (int) Math.min(99, rows * 100 / total) : 0;
+        return new ExportJobDto(id, format.extension(), current.name(), rows, total, percent, createdAt,
+                completedAt, error);
+    }
+}
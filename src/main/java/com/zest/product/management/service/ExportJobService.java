@@ -0,0 +1,281 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ExportJobDto;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.exception.ServiceUnavailableException;
+import com.zest.product.management.exception.TooManyRequestsException;
+import com.zest.product.management.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs product exports as background jobs on a small bounded pool, writing
+ * gzip-compressed results to a local spool directory.
+ * Each user may have a limited number of queued or running jobs; a full
+ * queue is rejected with a 503. Finished results are deleted after a TTL.
+ * Job state lives in memory, so jobs do not survive a restart; leftover
+ * spool files are removed by the same TTL sweep.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final String FAILURE_MESSAGE = "Export failed. Please retry later.";
+
+    private final ProductExportService productExportService;
+    private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.exportSpoolDir:${java.io.tmpdir}/zest-exports}")
+    private String spoolDir;
+
+    @Value("${zest.app.exportJobThreads:2}")
+    private int threads;
+
+    @Value("${zest.app.exportJobQueueCapacity:20}")
+    private int queueCapacity;
+
+    @Value("${zest.app.exportJobsPerUser:2}")
+    private int maxJobsPerUser;
+
+    @Value("${zest.app.exportJobTtlMs:3600000}")
+    private long ttlMs;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> activeJobsByOwner = new ConcurrentHashMap<>();
+    private Path spoolPath;
+    private ThreadPoolExecutor executor;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        spoolPath = Paths.get(spoolDir);
+        try {
+            Files.createDirectories(spoolPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export spool directory " + spoolPath, e);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        rejectedCounter = Counter.builder("products.export.jobs.rejected")
+                .description("Export jobs rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("products.export.jobs.queue", executor, pool -> pool.getQueue().size())
+                .description("Export jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("products.export.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Export jobs currently running")
+                .register(meterRegistry);
+    }
+
+    public ExportJobDto submit(String owner, ExportFormat format) {
+        activeJobsByOwner.compute(owner, (key, active) -> {
+            int count = active == null ? 0 : active;
+            if (count >= maxJobsPerUser) {
+                throw new TooManyRequestsException(
+                        "At most " + maxJobsPerUser + " export jobs may be queued or running per user");
+            }
+            return count + 1;
+        });
+
+        String id = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(id, owner, format, spoolPath.resolve(id + "." + format.extension() + ".gz"));
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            release(owner);
+            rejectedCounter.increment();
+            log.warn("Export job queue is full, rejecting job for user: {}", owner);
+            throw new ServiceUnavailableException("Too many export jobs in progress. Please retry later.",
+                    RETRY_AFTER_SECONDS);
+        }
+        log.info("Queued {} export job {} for user: {}", format, id, owner);
+        return job.toDto();
+    }
+
+    public ExportJobDto getJob(String owner, String id) {
+        return findJob(owner, id).toDto();
+    }
+
+    /**
+     * Cancels a queued or running job. For a finished job the result is
+     * discarded and the job forgotten.
+     */
+    public ExportJobDto cancel(String owner, String id) {
+        ExportJob job = findJob(owner, id);
+        if (job.cancelIfQueued()) {
+            Future<?> future = job.future();
+            if (future != null) {
+                future.cancel(false);
+                executor.remove((Runnable) future);
+            }
+            release(owner);
+            log.info("Cancelled queued export job {}", id);
+        } else if (job.status() == ExportJob.Status.RUNNING) {
+            job.requestCancel();
+            log.info("Cancellation requested for running export job {}", id);
+        } else {
+            jobs.remove(id);
+            deleteQuietly(job.resultFile());
+            log.info("Discarded export job {}", id);
+        }
+        return job.toDto();
+    }
+
+    public Path getResultFile(String owner, String id) {
+        ExportJob job = findJob(owner, id);
+        if (job.status() != ExportJob.Status.COMPLETED) {
+            throw new ConflictException("Export job " + id + " is " + job.status());
+        }
+        return job.resultFile();
+    }
+
+    @Scheduled(fixedDelayString = "${zest.app.exportJobCleanupMs:60000}",
+            initialDelayString = "${zest.app.exportJobCleanupMs:60000}")
+    public void removeExpiredJobs() {
+        Instant cutoff = Instant.now().minusMillis(ttlMs);
+        jobs.values().removeIf(job -> {
+            Instant completedAt = job.completedAt();
+            boolean expired = !job.status().isActive() && completedAt != null && completedAt.isBefore(cutoff);
+            if (expired) {
+                deleteQuietly(job.resultFile());
+                log.debug("Expired export job {}", job.id());
+            }
+            return expired;
+        });
+
+        // Files left behind by jobs this instance no longer knows about (e.g. before a restart)
+        try (Stream<Path> files = Files.list(spoolPath)) {
+            files.filter(file -> !jobs.containsKey(jobIdOf(file)))
+                    .filter(file -> isOlderThan(file, cutoff))
+                    .forEach(ExportJobService::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Cannot scan export spool directory {}: {}", spoolPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ExportJob::requestCancel);
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job) {
+        if (!job.start()) {
+            return;
+        }
+        Path partFile = job.resultFile().resolveSibling(job.resultFile().getFileName() + ".part");
+        try {
+            job.setTotalRows(productRepository.count());
+            try (OutputStream out = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(partFile)), GZIP_BUFFER_SIZE)) {
+                productExportService.export(job.format(), out, rows -> {
+                    if (job.cancelRequested()) {
+                        throw new CancellationException();
+                    }
+                    job.setRowsWritten(rows);
+                });
+            }
+            if (job.cancelRequested()) {
+                throw new CancellationException();
+            }
+            Files.move(partFile, job.resultFile(), StandardCopyOption.ATOMIC_MOVE);
+            finish(job, ExportJob.Status.COMPLETED, null);
+            log.info("Export job {} completed", job.id());
+        } catch (CancellationException e) {
+            deleteQuietly(partFile);
+            finish(job, ExportJob.Status.CANCELLED, null);
+            log.info("Export job {} cancelled", job.id());
+        } catch (Throwable e) {
+            // Errors too, or the job would stay RUNNING and hold the owner's slot; details stay in the log
+            deleteQuietly(partFile);
+            finish(job, ExportJob.Status.FAILED, FAILURE_MESSAGE);
+            log.error("Export job {} failed", job.id(), e);
+        }
+    }
+
+    // Frees the owner's slot before the terminal status is visible, so a client that saw it can submit again
+    private void finish(ExportJob job, ExportJob.Status terminal, String errorMessage) {
+        release(job.owner());
+        job.finish(terminal, errorMessage);
+    }
+
+    private ExportJob findJob(String owner, String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null || !job.owner().equals(owner)) {
+            throw new ResourceNotFoundException("Export job", "id", id);
+        }
+        return job;
+    }
+
+    private void release(String owner) {
+        activeJobsByOwner.computeIfPresent(owner, (key, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private static String jobIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete export file {}: {}", file, e.getMessage());
+        }
+    }
+}
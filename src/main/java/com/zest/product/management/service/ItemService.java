@@ -1,19 +1,20 @@
 package com.zest.product.management.service;
 
+import com.zest.product.management.dto.CursorPage;
 import com.zest.product.management.dto.ItemDto;
 import com.zest.product.management.entity.Item;
-import com.zest.product.management.entity.Product;
 import com.zest.product.management.exception.ResourceNotFoundException;
 import com.zest.product.management.mapper.ItemMapper;
 import com.zest.product.management.repository.ItemRepository;
 import com.zest.product.management.repository.ProductRepository;
+import com.zest.product.management.util.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service to handle Item business logic.
@@ -26,26 +27,80 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final ProductRepository productRepository;
     private final ItemMapper itemMapper;
+    private final ProductQueryGuard productQueryGuard;
+    private final ProductCache productCache;
+    private final ChangeLog changeLog;
 
     @Transactional(readOnly = true)
     public List<ItemDto> getItemsByProductId(Long productId) {
         log.info("Fetching items for product id: {}", productId);
-        if (!productRepository.existsById(productId)) {
+        return findItemRows(productId, 0L, Limit.unlimited());
+    }
+
+    /**
+     * Keyset pagination over a product's items by id. The cursor is the id of
+     * the last item returned.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDto> scrollItemsByProductId(Long productId, Long after, int size) {
+        log.info("Scrolling items for product id: {} after: {}, size: {}", productId, after, size);
+        int limit = productQueryGuard.sanitizeSize(size);
+        // One extra row tells whether another slice follows
+        List<ItemDto> rows = findItemRows(productId, after != null ? after : 0L, Limit.of(limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<ItemDto> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? String.valueOf(content.get(limit - 1).getId()) : null;
+        return new CursorPage<>(List.copyOf(content), content.size(), nextCursor);
+    }
+
+    // Existence check and fetch in one query, see ItemRepository.findItemRowsByProductId
+    private List<ItemDto> findItemRows(Long productId, Long after, Limit limit) {
+        List<ItemDto> rows = itemRepository.findItemRowsByProductId(productId, after, limit);
+        if (rows.isEmpty()) {
             throw new ResourceNotFoundException("Product", "id", productId);
         }
-        return itemRepository.findByProductId(productId).stream()
-                .map(itemMapper::toDto)
-                .collect(Collectors.toList());
+        return rows.get(0).getId() == null ? List.of() : rows;
     }
 
+    /**
+     * ETag of a product's item list computed by an aggregate query, so a
+     * conditional request can be answered without loading any item.
+     */
+    @Transactional(readOnly = true)
+    public String getItemsETag(Long productId) {
+        ItemRepository.ItemListVersion listVersion = itemRepository.findListVersionByProductId(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        return ETags.forItems(listVersion.getItemCount(), listVersion.getVersionSum(), listVersion.getMaxId());
+    }
+
+    // Same fingerprint as getItemsETag, derived from an already loaded list
+    public static String itemsETag(List<ItemDto> items) {
+        long versionSum = 0;
+        long maxId = 0;
+        for (ItemDto item : items) {
+            versionSum += item.getVersion() != null ? item.getVersion() : 0;
+            maxId = Math.max(maxId, item.getId() != null ? item.getId() : 0);
+        }
+        return ETags.forItems(items.size(), versionSum, maxId);
+    }
+
+    /**
+     * Adds an item and increments the product's total quantity in the same
+     * transaction. The increment is a single UPDATE, which also tells whether
+     * the product exists, so the product is never loaded.
+     */
     @Transactional
     public ItemDto addItemToProduct(Long productId, ItemDto itemDto) {
         log.info("Adding item to product id: {}", productId);
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        if (productRepository.addToTotalQuantity(productId, itemDto.getQuantity()) == 0) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
 
         Item item = itemMapper.toEntity(itemDto);
-        item.setProduct(product);
-        return itemMapper.toDto(itemRepository.save(item));
+        item.setProduct(productRepository.getReferenceById(productId));
+        ItemDto saved = itemMapper.toDto(itemRepository.save(item));
+        productCache.evictAfterCommit(productId);
+        changeLog.itemChanged(ChangeType.CREATED, productId, saved.getId(), saved.getVersion());
+        return saved;
     }
 }
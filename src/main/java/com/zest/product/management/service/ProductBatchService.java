@@ -0,0 +1,226 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ProductBatchRequest;
+import com.zest.product.management.dto.ProductBatchRequest.Operation;
+import com.zest.product.management.dto.ProductBatchResult;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.repository.ProductBulkRepository;
+import com.zest.product.management.util.ProductNames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executes mixed create/update/delete operations with set-based SQL.
+ * Operations run in chunks, each in one transaction: the affected rows are
+ * locked and version-checked with a single SELECT ... FOR UPDATE, then all
+ * deletes run as one IN statement pair, updates and creates as JDBC batches.
+ * Operations that fail validation or checks are reported and skipped; an
+ * SQL failure rolls back and reports its whole chunk as FAILED.
+ */
+@Service
+@Slf4j
+public class ProductBatchService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final ProductBulkRepository productBulkRepository;
+    private final ProductCache productCache;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final ProductNameFilter productNameFilter;
+
+    @Value("${zest.app.productBatchMaxOperations:1000}")
+    private int maxOperations;
+
+    @Value("${zest.app.productBatchChunkSize:1000}") // >= maxOperations runs the whole batch in one transaction
+    private int chunkSize;
+
+    public ProductBatchService(ProductBulkRepository productBulkRepository, ProductCache productCache,
+            ChangeLog changeLog, PlatformTransactionManager transactionManager, AuditorAware<String> auditorAware,
+            ProductNameFilter productNameFilter) {
+        this.productBulkRepository = productBulkRepository;
+        this.productCache = productCache;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.auditorAware = auditorAware;
+        this.productNameFilter = productNameFilter;
+    }
+
+    public List<ProductBatchResult> execute(ProductBatchRequest request) {
+        List<Operation> operations = request.operations();
+        if (operations.size() > maxOperations) {
+            throw new BadRequestException("A batch may contain at most " + maxOperations + " operations");
+        }
+        String auditor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+        log.info("Executing batch of {} product operations by: {}", operations.size(), auditor);
+
+        ProductBatchResult[] results = new ProductBatchResult[operations.size()];
+        for (int from = 0; from < operations.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, operations.size());
+            int chunkStart = from;
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> executeChunk(operations, chunkStart, to, results, auditor));
+            } catch (DataAccessException e) {
+                log.error("Product batch chunk [{}, {}) rolled back", chunkStart, to, e);
+                String message = "Rolled back: " + e.getMostSpecificCause().getMessage();
+                for (int i = chunkStart; i < to; i++) {
+                    if (results[i] == null || !"INVALID".equals(results[i].status())) {
+                        results[i] = result(i, operations.get(i), operations.get(i).id(), "FAILED", null, message);
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void executeChunk(List<Operation> operations, int from, int to, ProductBatchResult[] results,
+            String auditor) {
+        // 1. Shape checks; the same id may appear only once per chunk
+        Set<Long> targetIds = new LinkedHashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Operation operation = operations.get(i);
+            String error = validate(operation);
+            if (error == null && operation.id() != null && !targetIds.add(operation.id())) {
+                error = "Product id appears more than once in the batch";
+            }
+            if (error != null) {
+                results[i] = result(i, operation, operation.id(), "INVALID", null, error);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // 2. Existence and version checks against locked rows
+        Map<Long, Long> versions = productBulkRepository.lockVersionsByIds(targetIds);
+        Set<Long> deleteIds = new LinkedHashSet<>();
+        List<Integer> writes = new ArrayList<>();
+        for (int i : accepted) {
+            Operation operation = operations.get(i);
+            if (operation.op() != ProductBatchRequest.Type.CREATE) {
+                Long current = versions.get(operation.id());
+                if (current == null) {
+                    results[i] = result(i, operation, operation.id(), "NOT_FOUND", null, "Product not found");
+                    continue;
+                }
+                if (operation.version() != null && !operation.version().equals(current)) {
+                    results[i] = result(i, operation, operation.id(), "VERSION_CONFLICT", current,
+                            "Product is at version " + current);
+                    continue;
+                }
+            }
+            if (operation.op() == ProductBatchRequest.Type.DELETE) {
+                deleteIds.add(operation.id());
+            } else {
+                writes.add(i);
+            }
+        }
+
+        // 3. Name uniqueness for creates and renames (names of deleted products may be reused), compared
+        // by normalized key like the unique index
+        Set<String> names = new HashSet<>();
+        writes.forEach(i -> names.add(operations.get(i).productName().trim()));
+        Map<String, Long> owners = productBulkRepository.findIdsByNormalizedName(names);
+        Set<String> claimed = new HashSet<>();
+        List<ProductBulkRepository.NameUpdate> updates = new ArrayList<>();
+        List<Integer> updateIndexes = new ArrayList<>();
+        List<String> creates = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        for (int i : writes) {
+            Operation operation = operations.get(i);
+            String name = operation.productName().trim();
+            String key = ProductNames.normalize(name);
+            Long owner = owners.get(key);
+            boolean takenByOther = owner != null && !owner.equals(operation.id()) && !deleteIds.contains(owner);
+            if (takenByOther || !claimed.add(key)) {
+                results[i] = result(i, operation, operation.id(), "NAME_CONFLICT", null,
+                        "Product name already exists");
+            } else if (operation.op() == ProductBatchRequest.Type.UPDATE) {
+                updates.add(new ProductBulkRepository.NameUpdate(operation.id(), name));
+                updateIndexes.add(i);
+            } else {
+                creates.add(name);
+                createIndexes.add(i);
+            }
+        }
+
+        // 4. Set-based writes: deletes first so freed names can be reused
+        LocalDateTime now = LocalDateTime.now();
+        productBulkRepository.deleteProductsWithItems(deleteIds);
+        for (int i : accepted) {
+            Operation operation = operations.get(i);
+            if (results[i] == null && deleteIds.contains(operation.id())) {
+                results[i] = result(i, operation, operation.id(), "DELETED", null, null);
+                productCache.evictAfterCommit(operation.id());
+                changeLog.productChanged(ChangeType.DELETED, operation.id(), null);
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            productBulkRepository.updateProductNames(updates, auditor, now);
+            updates.forEach(update -> productNameFilter.add(update.productName()));
+        }
+        for (int i : updateIndexes) {
+            Operation operation = operations.get(i);
+            results[i] = result(i, operation, operation.id(), "UPDATED", versions.get(operation.id()) + 1, null);
+            productCache.evictAfterCommit(operation.id());
+            changeLog.productChanged(ChangeType.UPDATED, operation.id(), versions.get(operation.id()) + 1);
+        }
+
+        if (!creates.isEmpty()) {
+            productNameFilter.addAll(creates);
+            productBulkRepository.insertProducts(creates, auditor, now);
+            Map<String, Long> createdIds = productBulkRepository.findIdsByNormalizedName(creates);
+            Map<Integer, Long> idsByIndex = new HashMap<>();
+            for (int k = 0; k < creates.size(); k++) {
+                idsByIndex.put(createIndexes.get(k), createdIds.get(ProductNames.normalize(creates.get(k))));
+            }
+            for (int i : createIndexes) {
+                results[i] = result(i, operations.get(i), idsByIndex.get(i), "CREATED", 0L, null);
+                changeLog.productChanged(ChangeType.CREATED, idsByIndex.get(i), 0L);
+            }
+        }
+    }
+
+    private static String validate(Operation operation) {
+        boolean create = operation.op() == ProductBatchRequest.Type.CREATE;
+        if (create && operation.id() != null) {
+            return "id must not be set for CREATE";
+        }
+        if (!create && operation.id() == null) {
+            return "id is required for " + operation.op();
+        }
+        if (operation.op() != ProductBatchRequest.Type.DELETE) {
+            String name = operation.productName();
+            if (name == null || name.isBlank()) {
+                return "Product name is required";
+            }
+            if (name.trim().length() > MAX_NAME_LENGTH) {
+                return "Product name must be at most " + MAX_NAME_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    private static ProductBatchResult result(int index, Operation operation, Long id, String status, Long version,
+            String message) {
+        return new ProductBatchResult(index, operation.op().name(), id, status, version, message);
+    }
+}
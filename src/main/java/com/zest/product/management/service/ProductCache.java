@@ -0,0 +1,82 @@
+package com.zest.product.management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zest.product.management.dto.ProductDto;
+import com.zest.product.management.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache of ProductDto by id.
+ * Writes only touch the cache after their transaction commits, so a rolled
+ * back change is never visible and readers never cache uncommitted state.
+ * Metrics are published as cache.* with cache=products plus a hit ratio gauge.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.productCacheEnabled:true}")
+    private boolean enabled;
+
+    @Value("${zest.app.productCacheMaxSize:10000}")
+    private long maxSize;
+
+    @Value("${zest.app.productCacheTtlMs:300000}")
+    private long ttlMs;
+
+    private Cache<Long, ProductDto> cache;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+        Gauge.builder("products.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Fraction of product lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    public ProductDto get(Long id, Function<Long, ProductDto> loader) {
+        return cache != null ? cache.get(id, loader) : loader.apply(id);
+    }
+
+    public ProductDto getIfPresent(Long id) {
+        return cache != null ? cache.getIfPresent(id) : null;
+    }
+
+    public Map<Long, ProductDto> getAllPresent(Collection<Long> ids) {
+        return cache != null ? cache.getAllPresent(ids) : Map.of();
+    }
+
+    public void putAfterCommit(ProductDto product) {
+        if (cache != null) {
+            TransactionHooks.afterCommit(() -> cache.put(product.getId(), product));
+        }
+    }
+
+    public void evictAfterCommit(Long id) {
+        if (cache != null) {
+            TransactionHooks.afterCommit(() -> cache.invalidate(id));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor for product listings. Encodes the sort key, direction
+ * and the (sort value, id) of the last row returned, so the next query can
+ * seek with WHERE (key, id) > (?, ?) instead of using an OFFSET. The sort
+ * value is parsed when decoding, so a cursor that does not parse is rejected
+ * as invalid before any query runs.
+ */
+record ProductCursor(ProductSortKey sortKey, Sort.Direction direction, Long lastId, Object lastValue) {
+
+    private static final String SEPARATOR = "|";
+
+    static ProductCursor from(ProductSortKey sortKey, Sort.Direction direction, ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        return new ProductCursor(sortKey, direction, ((Number) keys.get("id")).longValue(),
+                keys.get(sortKey.property()));
+    }
+
+    static ProductCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 4);
+            ProductSortKey sortKey = ProductSortKey.valueOf(parts[0]);
+            return new ProductCursor(sortKey, Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]),
+                    sortKey.parse(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sortKey.name() + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (sortKey != ProductSortKey.ID) {
+            keys.put(sortKey.property(), lastValue);
+        }
+        keys.put("id", lastId);
+        return ScrollPosition.forward(keys);
+    }
+}
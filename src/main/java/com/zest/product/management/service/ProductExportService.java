@@ -0,0 +1,240 @@
+package com.zest.product.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.product.management.dto.ProductExportRow;
+import com.zest.product.management.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams every product with its items straight from a forward-only database
+ * cursor to an output stream. Rows are written as they are read, so memory
+ * use does not depend on the catalog size.
+ * CSV emits one line per item (products without items get one line with
+ * empty item columns); NDJSON emits one JSON object per product.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the export and returns the number of products written. The
+     * output stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream outputStream) throws IOException {
+        return export(format, outputStream, products -> {
+        });
+    }
+
+    /**
+     * As {@link #export(ExportFormat, OutputStream)}, reporting the running
+     * product count after each product. The listener may throw to abort.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream outputStream, LongConsumer progress) throws IOException {
+        log.info("Starting {} product export", format);
+        long startNanos = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                WRITE_BUFFER_SIZE);
+        ExportWriter exportWriter = format == ExportFormat.CSV
+                ? new CsvExportWriter(writer)
+                : new NdjsonExportWriter(objectMapper.getFactory().createGenerator(writer));
+
+        long products = 0;
+        try (Stream<ProductExportRow> rows = productRepository.streamExportRows()) {
+            exportWriter.begin();
+            Long currentProductId = null;
+            Iterator<ProductExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ProductExportRow row = iterator.next();
+                if (!Objects.equals(row.productId(), currentProductId)) {
+                    if (currentProductId != null) {
+                        exportWriter.endProduct();
+                    }
+                    exportWriter.startProduct(row);
+                    currentProductId = row.productId();
+                    progress.accept(++products);
+                }
+                exportWriter.item(row);
+            }
+            if (currentProductId != null) {
+                exportWriter.endProduct();
+            }
+            exportWriter.finish();
+        }
+        writer.flush();
+
+        log.info("Exported {} products as {} in {} ms", products, format,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return products;
+    }
+
+    private interface ExportWriter {
+        void begin() throws IOException;
+
+        void startProduct(ProductExportRow row) throws IOException;
+
+        // Called once per row; rows of products without items have a null item id
+        void item(ProductExportRow row) throws IOException;
+
+        void endProduct() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvExportWriter implements ExportWriter {
+
+        private static final String HEADER = "product_id,product_name,created_by,created_on,modified_by,"
+                + "modified_on,product_version,item_id,item_quantity,item_version\n";
+
+        private final Writer writer;
+
+        private CsvExportWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(HEADER);
+        }
+
+        @Override
+        public void startProduct(ProductExportRow row) {
+        }
+
+        @Override
+        public void item(ProductExportRow row) throws IOException {
+            writer.write(String.valueOf(row.productId()));
+            writer.write(',');
+            writeText(row.productName());
+            writer.write(',');
+            writeText(row.createdBy());
+            writer.write(',');
+            writeValue(row.createdOn());
+            writer.write(',');
+            writeText(row.modifiedBy());
+            writer.write(',');
+            writeValue(row.modifiedOn());
+            writer.write(',');
+            writeValue(row.productVersion());
+            writer.write(',');
+            writeValue(row.itemId());
+            writer.write(',');
+            writeValue(row.quantity());
+            writer.write(',');
+            writeValue(row.itemVersion());
+            writer.write('\n');
+        }
+
+        @Override
+        public void endProduct() {
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value != null) {
+                writer.write(value.toString());
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class NdjsonExportWriter implements ExportWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonExportWriter(JsonGenerator generator) {
+            this.generator = generator;
+            // Lines are separated explicitly below instead of by Jackson's default space
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void startProduct(ProductExportRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.productId());
+            generator.writeStringField("productName", row.productName());
+            generator.writeStringField("createdBy", row.createdBy());
+            writeDateTime("createdOn", row.createdOn());
+            generator.writeStringField("modifiedBy", row.modifiedBy());
+            writeDateTime("modifiedOn", row.modifiedOn());
+            generator.writeNumberField("version", row.productVersion());
+            generator.writeArrayFieldStart("items");
+        }
+
+        @Override
+        public void item(ProductExportRow row) throws IOException {
+            if (row.itemId() == null) {
+                return;
+            }
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.itemId());
+            generator.writeNumberField("quantity", row.quantity());
+            generator.writeNumberField("version", row.itemVersion());
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void endProduct() throws IOException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private void writeDateTime(String field, LocalDateTime value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeStringField(field, value.toString());
+            }
+        }
+    }
+}
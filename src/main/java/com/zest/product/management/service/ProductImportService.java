@@ -0,0 +1,336 @@
+package com.zest.product.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.product.management.dto.ImportReport;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.repository.ProductBulkRepository;
+import com.zest.product.management.util.ProductNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams a CSV or NDJSON catalog into products and items. Rows are
+ * validated as they are read; valid rows are written in JDBC batches, each in
+ * its own transaction, so a bad row or batch never aborts the whole file.
+ * A product name that already exists (in the database or earlier in the
+ * file) is reused and the row's items are added to it.
+ * CSV needs a product_name column and may have item_quantity (the export
+ * layout is accepted as is); each NDJSON line is
+ * {"productName": ..., "items": [{"quantity": ...}]}.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final ProductBulkRepository productBulkRepository;
+    private final ProductCache productCache;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditorAware<String> auditorAware;
+    private final ProductNameFilter productNameFilter;
+    private final Timer batchTimer;
+
+    @Value("${zest.app.importBatchSize:1000}")
+    private int batchSize;
+
+    @Value("${zest.app.importMaxReportedErrors:1000}")
+    private int maxReportedErrors;
+
+    public ProductImportService(ProductBulkRepository productBulkRepository, ProductCache productCache,
+            ChangeLog changeLog, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            AuditorAware<String> auditorAware, ProductNameFilter productNameFilter, MeterRegistry meterRegistry) {
+        this.productBulkRepository = productBulkRepository;
+        this.productCache = productCache;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.auditorAware = auditorAware;
+        this.productNameFilter = productNameFilter;
+        this.batchTimer = Timer.builder("products.import.batch")
+                .description("Time spent writing one import batch")
+                .register(meterRegistry);
+    }
+
+    public ImportReport importProducts(ExportFormat format, InputStream inputStream) throws IOException {
+        String auditor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+        log.info("Starting {} product import by: {}", format, auditor);
+        long startNanos = System.nanoTime();
+        ImportState state = new ImportState(auditor);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            readCsv(reader, state);
+        } else {
+            readNdjson(reader, state);
+        }
+        flush(state);
+
+        ImportReport report = state.toReport();
+        log.info("Imported {} of {} rows ({} products created, {} items) in {} ms", report.rowsImported(),
+                report.rowsRead(), report.productsCreated(), report.itemsCreated(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return report;
+    }
+
+    private void readCsv(BufferedReader reader, ImportState state) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        int nameColumn = header != null ? header.indexOf("product_name") : -1;
+        if (nameColumn < 0) {
+            throw new BadRequestException("CSV header must contain a product_name column");
+        }
+        int quantityColumn = header.indexOf("item_quantity");
+        if (quantityColumn < 0) {
+            quantityColumn = header.indexOf("quantity");
+        }
+
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException e) {
+                state.rowsRead++;
+                state.fail(csv.recordLine(), e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            state.rowsRead++;
+            long line = csv.recordLine();
+            String name = field(record, nameColumn);
+            String quantity = field(record, quantityColumn);
+
+            String error = validateName(name);
+            Integer parsedQuantity = null;
+            if (error == null && quantity != null && !quantity.isBlank()) {
+                try {
+                    parsedQuantity = Integer.valueOf(quantity.trim());
+                    error = validateQuantity(parsedQuantity);
+                } catch (NumberFormatException e) {
+                    error = "Quantity must be a whole number";
+                }
+            }
+            if (error != null) {
+                state.fail(line, error);
+            } else {
+                add(state, new ImportRow(line, name.trim(),
+                        parsedQuantity != null ? List.of(parsedQuantity) : List.of()));
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportState state) throws IOException {
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            state.rowsRead++;
+            try {
+                ImportRow row = parseJsonRow(line, objectMapper.readTree(text));
+                add(state, row);
+            } catch (JsonProcessingException e) {
+                state.fail(line, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                state.fail(line, e.getMessage());
+            }
+        }
+    }
+
+    private ImportRow parseJsonRow(long line, JsonNode node) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Each line must be a JSON object");
+        }
+        JsonNode nameNode = node.get("productName");
+        String name = nameNode != null && nameNode.isTextual() ? nameNode.asText() : null;
+        String error = validateName(name);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        List<Integer> quantities = new ArrayList<>();
+        JsonNode items = node.get("items");
+        if (items != null && !items.isNull()) {
+            if (!items.isArray()) {
+                throw new IllegalArgumentException("items must be an array");
+            }
+            for (JsonNode item : items) {
+                JsonNode quantity = item.get("quantity");
+                if (quantity == null || !quantity.canConvertToInt() || !quantity.isIntegralNumber()) {
+                    throw new IllegalArgumentException("Item quantity must be a whole number");
+                }
+                error = validateQuantity(quantity.asInt());
+                if (error != null) {
+                    throw new IllegalArgumentException(error);
+                }
+                quantities.add(quantity.asInt());
+            }
+        }
+        return new ImportRow(line, name.trim(), quantities);
+    }
+
+    private static String validateName(String name) {
+        if (name == null || name.isBlank()) {
+            return "Product name is required";
+        }
+        if (name.trim().length() > MAX_NAME_LENGTH) {
+            return "Product name must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static String validateQuantity(int quantity) {
+        return quantity > 0 ? null : "Quantity must be a positive number";
+    }
+
+    private static String field(List<String> record, int column) {
+        return column >= 0 && column < record.size() ? record.get(column) : null;
+    }
+
+    private void add(ImportState state, ImportRow row) {
+        state.batch.add(row);
+        if (state.batch.size() >= batchSize) {
+            flush(state);
+        }
+    }
+
+    private void flush(ImportState state) {
+        if (state.batch.isEmpty()) {
+            return;
+        }
+        List<ImportRow> batch = state.batch;
+        state.batch = new ArrayList<>(batchSize);
+        BatchResult result;
+        try {
+            result = batchTimer.record(() -> writeBatch(batch, state.auditor));
+        } catch (DataIntegrityViolationException e) {
+            // Most likely a concurrent insert of the same name; the retry sees it as existing
+            log.warn("Import batch failed, retrying once: {}", e.getMessage());
+            try {
+                result = batchTimer.record(() -> writeBatch(batch, state.auditor));
+            } catch (DataAccessException retryFailure) {
+                log.error("Import batch failed after retry", retryFailure);
+                batch.forEach(row -> state.fail(row.line(), "Batch could not be written: "
+                        + retryFailure.getMostSpecificCause().getMessage()));
+                return;
+            }
+        }
+        state.rowsImported += batch.size();
+        state.productsCreated += result.productsCreated();
+        state.productsMatched += result.productsMatched();
+        state.itemsCreated += result.itemsCreated();
+    }
+
+    private BatchResult writeBatch(List<ImportRow> batch, String auditor) {
+        return transactionTemplate.execute(status -> {
+            // Rows naming the same product in another case or accent share the first row's spelling
+            Map<String, String> names = new LinkedHashMap<>();
+            batch.forEach(row -> names.putIfAbsent(ProductNames.normalize(row.productName()), row.productName()));
+            Map<String, Long> ids = productBulkRepository.findIdsByNormalizedName(names.values());
+            int matched = ids.size();
+
+            List<String> missing = names.entrySet().stream()
+                    .filter(name -> !ids.containsKey(name.getKey()))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            Set<Long> createdIds = new HashSet<>();
+            if (!missing.isEmpty()) {
+                productNameFilter.addAll(missing);
+                productBulkRepository.insertProducts(missing, auditor, LocalDateTime.now());
+                Map<String, Long> inserted = productBulkRepository.findIdsByNormalizedName(missing);
+                ids.putAll(inserted);
+                createdIds.addAll(inserted.values());
+            }
+
+            List<ProductBulkRepository.NewItem> items = new ArrayList<>();
+            Map<Long, Long> quantityDeltas = new HashMap<>();
+            for (ImportRow row : batch) {
+                Long productId = ids.get(ProductNames.normalize(row.productName()));
+                if (productId == null) {
+                    throw new DataIntegrityViolationException("Product not found after insert: " + row.productName());
+                }
+                for (int quantity : row.quantities()) {
+                    items.add(new ProductBulkRepository.NewItem(productId, quantity));
+                    quantityDeltas.merge(productId, (long) quantity, Long::sum);
+                }
+            }
+            if (!items.isEmpty()) {
+                productBulkRepository.insertItems(items);
+                productBulkRepository.addToTotalQuantities(quantityDeltas);
+                quantityDeltas.keySet().forEach(productCache::evictAfterCommit);
+            }
+            // Bulk-inserted items have no ids here, so their products are announced instead
+            createdIds.forEach(id -> changeLog.productChanged(ChangeType.CREATED, id, null));
+            quantityDeltas.keySet().stream()
+                    .filter(id -> !createdIds.contains(id))
+                    .forEach(id -> changeLog.productChanged(ChangeType.UPDATED, id, null));
+            return new BatchResult(missing.size(), matched, items.size());
+        });
+    }
+
+    private record ImportRow(long line, String productName, List<Integer> quantities) {
+    }
+
+    private record BatchResult(long productsCreated, long productsMatched, long itemsCreated) {
+    }
+
+    private final class ImportState {
+        private final String auditor;
+        private List<ImportRow> batch = new ArrayList<>();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsFailed;
+        private long productsCreated;
+        private long productsMatched;
+        private long itemsCreated;
+
+        private ImportState(String auditor) {
+            this.auditor = auditor;
+        }
+
+        private void fail(long line, String message) {
+            rowsFailed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        private ImportReport toReport() {
+            return new ImportReport(rowsRead, rowsImported, rowsFailed, productsCreated, productsMatched,
+                    itemsCreated, errors, rowsFailed > errors.size());
+        }
+    }
+}
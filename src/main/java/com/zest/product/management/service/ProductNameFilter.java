@@ -0,0 +1,199 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.repository.ProductRepository;
+import com.zest.product.management.util.ProductNames;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of product names, letting createProduct skip the
+ * existence query for names that were certainly never used.
+ * It is built from the product table once the application is ready and
+ * rebuilt periodically, which drops deleted names and resizes it; writes
+ * add their names as they happen. Names are compared by
+ * ProductNames.normalize, like the default MySQL collation.
+ * The unique product_name constraint stays authoritative: a name the filter
+ * misses (written by another instance, or during a rebuild) only costs a
+ * failed insert, which is reported as a 409 anyway. Until the first build
+ * completes, or when disabled, every name might exist.
+ */
+@Component
+@Slf4j
+public class ProductNameFilter {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.productNameFilterEnabled:true}")
+    private boolean enabled;
+
+    @Value("${zest.app.productNameFilterExpectedNames:100000}")
+    private long expectedNames;
+
+    @Value("${zest.app.productNameFilterFalsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile Bits current;
+    private volatile Bits building;
+    private Counter skippedCounter;
+
+    public ProductNameFilter(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        skippedCounter = Counter.builder("products.name.filter.skipped")
+                .description("Product name existence checks skipped because the name was certainly new")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * False when no product has the name, true when one might; counts the
+     * existence checks this saves.
+     */
+    public boolean mightContain(String name) {
+        Bits bits = current;
+        if (bits == null || bits.mightContain(hash(name))) {
+            return true;
+        }
+        skippedCounter.increment();
+        return false;
+    }
+
+    public void add(String name) {
+        long hash = hash(name);
+        Bits bits = current;
+        if (bits != null) {
+            bits.add(hash);
+        }
+        // Also into a filter being rebuilt, which may have read the table before this write
+        Bits next = building;
+        if (next != null) {
+            next.add(hash);
+        }
+    }
+
+    public void addAll(Collection<String> names) {
+        names.forEach(this::add);
+    }
+
+    /**
+     * Replaces the filter with one built from every product name, sized for
+     * twice the current count or the configured expectation, whichever is larger.
+     */
+    @Scheduled(fixedDelayString = "${zest.app.productNameFilterRebuildMs:21600000}",
+            initialDelayString = "${zest.app.productNameFilterRebuildMs:21600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Bits next = Bits.create(Math.max(expectedNames, 2 * productRepository.count()), falsePositiveRate);
+        building = next;
+        try {
+            long names = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<String> stream = productRepository.streamProductNames()) {
+                    for (Iterator<String> it = stream.iterator(); it.hasNext(); count++) {
+                        next.add(hash(it.next()));
+                    }
+                }
+                return count;
+            });
+            current = next;
+            log.info("Built product name filter with {} names in {} ms", names,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Cannot build product name filter: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    // 64-bit FNV-1a over the normalized name, finished with a murmur3 mix
+    private static long hash(String name) {
+        String key = ProductNames.normalize(name);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    // Bit array probed at k positions derived from one hash (Kirsch-Mitzenmacher double hashing)
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+
+        private Bits(long size, int hashes) {
+            this.words = new AtomicLongArray((int) ((size + 63) / 64));
+            this.size = size;
+            this.hashes = hashes;
+        }
+
+        private static Bits create(long expected, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long size = Math.max(64, (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+            size = Math.min(size, 64L * Integer.MAX_VALUE);
+            int hashes = Math.max(1, (int) Math.round((double) size / expected * ln2));
+            return new Bits(size, hashes);
+        }
+
+        private void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, size);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                if ((words.get(word) & mask) == 0) {
+                    words.getAndAccumulate(word, mask, (value, m) -> value | m);
+                }
+            }
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.exception.BadRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Guards product listing queries: only index-backed sort keys are accepted,
+ * page sizes are capped, and every ordering gets id as a tie-breaker so the
+ * (key, id) index can serve it. Query latency is recorded per sort key.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductQueryGuard {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.productMaxPageSize:100}")
+    private int maxPageSize;
+
+    public Pageable sanitize(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return PageRequest.of(0, maxPageSize, Sort.by("id"));
+        }
+
+        List<Sort.Order> orders = pageable.getSort().stream()
+                .filter(order -> ProductSortKey.fromProperty(order.getProperty()) != ProductSortKey.ID)
+                .toList();
+        if (orders.size() > 1) {
+            throw new BadRequestException("Sorting by more than one property is not supported");
+        }
+
+        Sort sort;
+        if (orders.isEmpty()) {
+            Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+            sort = Sort.by(idOrder != null ? idOrder.getDirection() : Sort.Direction.ASC, "id");
+        } else {
+            Sort.Order order = orders.getFirst();
+            ProductSortKey key = ProductSortKey.fromProperty(order.getProperty());
+            sort = Sort.by(order.getDirection(), key.property(), "id");
+        }
+        return PageRequest.of(pageable.getPageNumber(), sanitizeSize(pageable.getPageSize()), sort);
+    }
+
+    public int sanitizeSize(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    public static ProductSortKey sortKeyOf(Sort sort) {
+        return sort.stream()
+                .findFirst()
+                .map(order -> ProductSortKey.fromProperty(order.getProperty()))
+                .orElse(ProductSortKey.ID);
+    }
+
+    /**
+     * Runs the query and records its latency as products.query tagged with
+     * the listing mode and sort key.
+     */
+    public <T> T timed(String mode, ProductSortKey sortKey, Supplier<T> query) {
+        return Timer.builder("products.query")
+                .description("Product listing query latency by sort key")
+                .tag("mode", mode)
+                .tag("sort", sortKey.property())
+                .register(meterRegistry)
+                .record(query);
+    }
+}
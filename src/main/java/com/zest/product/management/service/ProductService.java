@@ -1,19 +1,47 @@
 package com.zest.product.management.service;
 
+import com.zest.product.management.dto.CursorPage;
+import com.zest.product.management.dto.ItemDto;
+import com.zest.product.management.dto.ProductDeleteResult;
 import com.zest.product.management.dto.ProductDto;
+import com.zest.product.management.dto.ProductPatchRequest;
+import com.zest.product.management.dto.ProductLookup;
+import com.zest.product.management.dto.ProductSummaryDto;
 import com.zest.product.management.entity.Product;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.PreconditionFailedException;
 import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.mapper.ItemMapper;
 import com.zest.product.management.mapper.ProductMapper;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductBulkRepository;
 import com.zest.product.management.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service to handle Product business logic.
@@ -25,59 +53,343 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductQueryGuard productQueryGuard;
+    private final ProductCache productCache;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+    private final ProductBulkRepository productBulkRepository;
+    private final AuditorAware<String> auditorAware;
+    private final ProductNameFilter productNameFilter;
+    private final ChangeLog changeLog;
+
+    @Value("${zest.app.productMultiGetMaxIds:200}")
+    private int multiGetMaxIds;
+
+    @Value("${zest.app.productMultiDeleteMaxIds:1000}")
+    private int multiDeleteMaxIds;
 
     @Transactional(readOnly = true)
     public Page<ProductDto> getAllProducts(Pageable pageable) {
-        log.info("Fetching products for pageable: {}", pageable);
-        return productRepository.findAll(pageable).map(productMapper::toDto);
+        return getAllProducts(pageable, false);
+    }
+
+    /**
+     * Page of products; with includeItems the items of the whole page are
+     * loaded by one extra IN query instead of one query per product.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDto> getAllProducts(Pageable pageable, boolean includeItems) {
+        Pageable guarded = productQueryGuard.sanitize(pageable);
+        log.info("Fetching products for pageable: {}, includeItems: {}", guarded, includeItems);
+        Page<ProductDto> page = productQueryGuard.timed("page", ProductQueryGuard.sortKeyOf(guarded.getSort()),
+                () -> productRepository.findAll(guarded)).map(productMapper::toDto);
+        if (!includeItems) {
+            return page;
+        }
+        Map<Long, ProductDto> withItems = withItems(page.getContent());
+        return page.map(product -> withItems.get(product.getId()));
+    }
+
+    /**
+     * Keyset (cursor) pagination. When a cursor is given, its sort key and
+     * direction take precedence over the sort and direction arguments.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> scrollProducts(String after, int size, String sort, String direction) {
+        return scrollProducts(after, size, sort, direction, false);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> scrollProducts(String after, int size, String sort, String direction,
+            boolean includeItems) {
+        log.info("Scrolling products after cursor: {}, size: {}", after, size);
+        int limit = productQueryGuard.sanitizeSize(size);
+        ProductCursor cursor = after != null ? ProductCursor.decode(after) : null;
+        ProductSortKey sortKey = cursor != null ? cursor.sortKey() : ProductSortKey.fromProperty(sort);
+        Sort.Direction sortDirection = cursor != null ? cursor.direction()
+                : Sort.Direction.fromOptionalString(direction)
+                        .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + direction));
+        ScrollPosition position = cursor != null ? cursor.toScrollPosition() : ScrollPosition.keyset();
+
+        // id breaks ties in the same direction so (key, id) can be read from one index range
+        Sort sortOrder = sortKey == ProductSortKey.ID
+                ? Sort.by(sortDirection, "id")
+                : Sort.by(sortDirection, sortKey.property(), "id");
+        Window<Product> window = productQueryGuard.timed("scroll", sortKey,
+                () -> productRepository.findAllBy(position, sortOrder, Limit.of(limit)));
+
+        String nextCursor = window.hasNext()
+                ? ProductCursor.from(sortKey, sortDirection, window.positionAt(window.size() - 1)).encode()
+                : null;
+        List<ProductDto> products = window.map(productMapper::toDto).getContent();
+        if (includeItems) {
+            products = List.copyOf(withItems(products).values());
+        }
+        return new CursorPage<>(products, window.size(), nextCursor);
     }
 
     @Transactional(readOnly = true)
     public ProductDto getProductById(Long id) {
         log.info("Fetching product with id: {}", id);
-        return productRepository.findById(id)
+        return productCache.get(id, key -> productRepository.findById(key)
                 .map(productMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", key)));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductDto getProductById(Long id, boolean includeItems) {
+        ProductDto product = getProductById(id);
+        return includeItems ? withItems(List.of(product)).get(id) : product;
+    }
+
+    /**
+     * Loads several products in request order. Cached products are served
+     * from the cache and the rest are read with one IN query (not cached, as
+     * a plain put could race with a concurrent eviction); items, when
+     * requested, come from one more IN query over all found ids. Missing ids
+     * are returned as entries with found=false.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductLookup> getProductsByIds(List<Long> ids, boolean includeItems) {
+        if (ids.isEmpty() || ids.size() > multiGetMaxIds) {
+            throw new BadRequestException("Between 1 and " + multiGetMaxIds + " ids must be requested");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("ids must not contain empty values");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        log.info("Fetching {} products by id", distinctIds.size());
+
+        Map<Long, ProductDto> products = new HashMap<>(productCache.getAllPresent(distinctIds));
+        List<Long> misses = distinctIds.stream().filter(id -> !products.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            for (Product product : productRepository.findAllById(misses)) {
+                products.put(product.getId(), productMapper.toDto(product));
+            }
+        }
+
+        if (includeItems) {
+            products.putAll(withItems(products.values()));
+        }
+
+        List<ProductLookup> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductDto product = products.get(id);
+            result.add(new ProductLookup(id, product != null, product));
+        }
+        return result;
+    }
+
+    /**
+     * Item count and total quantity per product, optionally only for products
+     * whose denormalized total quantity is at least minTotalQuantity.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDto> getProductSummaries(long minTotalQuantity, Pageable pageable) {
+        Pageable guarded = productQueryGuard.sanitize(pageable);
+        log.info("Fetching product summaries with minTotalQuantity: {}, pageable: {}", minTotalQuantity, guarded);
+        return productQueryGuard.timed("summary", ProductQueryGuard.sortKeyOf(guarded.getSort()),
+                () -> productRepository.findSummaries(minTotalQuantity, guarded));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSummaryDto getProductSummary(Long id) {
+        log.info("Fetching summary of product with id: {}", id);
+        return productRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+    }
+
+    /**
+     * Current version of a product for conditional requests, served from the
+     * cache when present and otherwise read without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public long getProductVersion(Long id) {
+        ProductDto cached = productCache.getIfPresent(id);
+        if (cached != null && cached.getVersion() != null) {
+            return cached.getVersion();
+        }
+        return productRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
     @Transactional
     public ProductDto createProduct(ProductDto productDto) {
-        log.info("Creating new product with name: {}", productDto.getProductName());
-        if (productRepository.existsByProductName(productDto.getProductName())) {
-            throw new RuntimeException("Product name already exists");
+        String name = productDto.getProductName();
+        log.info("Creating new product with name: {}", name);
+        // The unique constraint decides; the query only turns likely duplicates away before a failed insert
+        if (productNameFilter.mightContain(name) && productRepository.existsByProductName(name)) {
+            throw new ConflictException("Product name already exists");
         }
+        productNameFilter.add(name);
         Product product = productMapper.toEntity(productDto);
-        return productMapper.toDto(productRepository.save(product));
+        ProductDto created;
+        try {
+            created = productMapper.toDto(productRepository.saveAndFlush(product));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Product name already exists");
+        }
+        productCache.putAfterCommit(created);
+        changeLog.productChanged(ChangeType.CREATED, created.getId(), created.getVersion());
+        return created;
     }
 
     @Transactional
     public ProductDto updateProduct(Long id, ProductDto productDto) {
+        return updateProduct(id, productDto, null);
+    }
+
+    /**
+     * Updates a product, optionally only if it is still at the expected
+     * version. Flushing inside the method makes a concurrent change surface
+     * here as an optimistic locking failure and returns the new version.
+     */
+    @Transactional
+    public ProductDto updateProduct(Long id, ProductDto productDto, Long expectedVersion) {
         log.info("Updating product with id: {}", id);
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        checkVersion(id, existingProduct.getVersion(), expectedVersion);
 
         existingProduct.setProductName(productDto.getProductName());
-        return productMapper.toDto(productRepository.save(existingProduct));
+        productNameFilter.add(productDto.getProductName());
+        ProductDto updated = productMapper.toDto(productRepository.saveAndFlush(existingProduct));
+        productCache.evictAfterCommit(id);
+        changeLog.productChanged(ChangeType.UPDATED, id, updated.getVersion());
+        return updated;
+    }
+
+    /**
+     * Applies a partial update as one UPDATE that also sets the audit fields
+     * and bumps the version, without loading the product. The expected
+     * version comes from If-Match (412 when stale) or the request body (409
+     * when stale). Returns the new version when an expected version was
+     * given, otherwise null.
+     */
+    @Transactional
+    public Long patchProduct(Long id, ProductPatchRequest patch, Long ifMatchVersion) {
+        if (patch.productName() == null) {
+            throw new BadRequestException("No product fields to update");
+        }
+        String name = patch.productName().trim();
+        if (name.isEmpty()) {
+            throw new BadRequestException("Product name must not be blank");
+        }
+        log.info("Patching product with id: {}", id);
+        Long expectedVersion = ifMatchVersion != null ? ifMatchVersion : patch.version();
+        String auditor = auditorAware.getCurrentAuditor().orElse("SYSTEM");
+        LocalDateTime now = LocalDateTime.now();
+        productNameFilter.add(name);
+
+        int updated;
+        try {
+            updated = expectedVersion == null
+                    ? productRepository.patchProductName(id, name, auditor, now)
+                    : productRepository.patchProductNameAtVersion(id, expectedVersion, name, auditor, now);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Product name already exists");
+        }
+        if (updated == 0) {
+            // Only the failure path reads, to tell a missing product from a stale version
+            Long currentVersion = productRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+            if (ifMatchVersion != null) {
+                checkVersion(id, currentVersion, ifMatchVersion);
+            }
+            log.warn("Version mismatch for product id: {}, expected: {}, current: {}", id, expectedVersion,
+                    currentVersion);
+            throw new ConflictException("Product is at version " + currentVersion);
+        }
+
+        Long newVersion = expectedVersion != null ? expectedVersion + 1 : null;
+        productCache.evictAfterCommit(id);
+        changeLog.productChanged(ChangeType.UPDATED, id, newVersion);
+        return newVersion;
     }
 
     @Transactional
     public void deleteProduct(Long id) {
+        deleteProduct(id, null);
+    }
+
+    /**
+     * Deletes a product and its items with two set-based statements instead
+     * of loading them for cascading removal. With an expected version the row
+     * is locked first, so it cannot change between the check and the delete.
+     */
+    @Transactional
+    public void deleteProduct(Long id, Long expectedVersion) {
         log.info("Deleting product with id: {}", id);
-        if (!productRepository.existsById(id)) {
+        if (expectedVersion != null) {
+            Long currentVersion = productBulkRepository.lockVersionsByIds(List.of(id)).get(id);
+            if (currentVersion == null) {
+                throw new ResourceNotFoundException("Product", "id", id);
+            }
+            checkVersion(id, currentVersion, expectedVersion);
+        }
+        if (productBulkRepository.deleteProductsWithItems(List.of(id)) == 0) {
             throw new ResourceNotFoundException("Product", "id", id);
         }
-        productRepository.deleteById(id);
+        productCache.evictAfterCommit(id);
+        changeLog.productChanged(ChangeType.DELETED, id, null);
     }
 
-    @Async
-    public CompletableFuture<String> simulateSlowExport() {
-        log.info("Starting async product export simulation...");
-        try {
-            Thread.sleep(5000); // Simulate heavy load
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * Deletes several products and all their items with two statements.
+     * Unknown ids are reported rather than failing the request.
+     */
+    @Transactional
+    public ProductDeleteResult deleteProducts(List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > multiDeleteMaxIds) {
+            throw new BadRequestException("Between 1 and " + multiDeleteMaxIds + " ids must be given");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("ids must not contain empty values");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        log.info("Deleting {} products by id", distinctIds.size());
+
+        Set<Long> existing = productBulkRepository.lockVersionsByIds(distinctIds).keySet();
+        productBulkRepository.deleteProductsWithItems(existing);
+
+        List<Long> deleted = new ArrayList<>(existing.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : distinctIds) {
+            if (existing.contains(id)) {
+                deleted.add(id);
+                productCache.evictAfterCommit(id);
+                changeLog.productChanged(ChangeType.DELETED, id, null);
+            } else {
+                notFound.add(id);
+            }
+        }
+        return new ProductDeleteResult(deleted, notFound);
+    }
+
+    /**
+     * Copies of the given products, keyed by id in iteration order, with
+     * their items loaded by a single IN query. Copies keep the item lists out
+     * of cached instances.
+     */
+    private Map<Long, ProductDto> withItems(Collection<ProductDto> products) {
+        Map<Long, ProductDto> result = new LinkedHashMap<>();
+        if (products.isEmpty()) {
+            return result;
+        }
+        products.forEach(product -> result.put(product.getId(), productMapper.copy(product)));
+        Map<Long, List<ItemDto>> itemsByProduct = itemRepository.findByProductIdInOrderById(result.keySet())
+                .stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.groupingBy(ItemDto::getProductId));
+        result.forEach((id, product) -> product.setItems(itemsByProduct.getOrDefault(id, List.of())));
+        return result;
+    }
+
+    private static void checkVersion(Long id, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            log.warn("Version mismatch for product id: {}, expected: {}, current: {}", id, expectedVersion,
+                    currentVersion);
+            throw new PreconditionFailedException("Product has been modified since version " + expectedVersion);
         }
-        log.info("Async export completed.");
-        return CompletableFuture.completedFuture("Export Finished Successfully at " + System.currentTimeMillis());
     }
 }
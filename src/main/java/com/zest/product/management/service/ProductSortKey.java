@@ -0,0 +1,49 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Product properties that listings may be ordered by. Each one is backed by
+ * an index so ordered and keyset queries can seek instead of sorting.
+ */
+public enum ProductSortKey {
+    ID("id", "id", Long::valueOf),
+    PRODUCT_NAME("productName", "product_name", String::valueOf),
+    CREATED_ON("createdOn", "created_on", LocalDateTime::parse),
+    MODIFIED_ON("modifiedOn", "modified_on", LocalDateTime::parse),
+    TOTAL_QUANTITY("totalQuantity", "total_quantity", Long::valueOf);
+
+    private final String property;
+    private final String column;
+    private final Function<String, Object> parser;
+
+    ProductSortKey(String property, String column, Function<String, Object> parser) {
+        this.property = property;
+        this.column = column;
+        this.parser = parser;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * Resolves a sort key by entity property or column name (product_name is
+     * rewritten to productName); anything else is rejected.
+     */
+    public static ProductSortKey fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property) || key.column.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Sorting by '" + property
+                        + "' is not supported. Allowed: id, productName, createdOn, modifiedOn, totalQuantity"));
+    }
+}
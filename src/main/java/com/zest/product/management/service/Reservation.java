@@ -0,0 +1,72 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ReservationDto;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One quantity hold. Status moves HELD -> CONFIRMING -> CONFIRMED, or from
+ * HELD (or CONFIRMING on failure) to RELEASED or EXPIRED; whoever wins the
+ * transition out of HELD settles the held quantity exactly once.
+ */
+class Reservation {
+
+    enum Status {
+        HELD, CONFIRMING, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    private final String id;
+    private final String owner;
+    private final long productId;
+    private final long itemId;
+    private final int quantity;
+    private final Instant createdAt = Instant.now();
+    private final Instant expiresAt;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.HELD);
+
+    Reservation(String id, String owner, long productId, long itemId, int quantity, Instant expiresAt) {
+        this.id = id;
+        this.owner = owner;
+        this.productId = productId;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    long productId() {
+        return productId;
+    }
+
+    long itemId() {
+        return itemId;
+    }
+
+    int quantity() {
+        return quantity;
+    }
+
+    Instant expiresAt() {
+        return expiresAt;
+    }
+
+    Status status() {
+        return status.get();
+    }
+
+    boolean transition(Status from, Status to) {
+        return status.compareAndSet(from, to);
+    }
+
+    ReservationDto toDto() {
+        return new ReservationDto(id, productId, itemId, quantity, status.get().name(), createdAt, expiresAt);
+    }
+}
@@ -0,0 +1,151 @@
+package com.zest.product.management.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lock-free ledger of reserved item quantities. Each item's stock and held
+ * quantity live in one immutable Hold swapped by compare-and-set, so every
+ * change checks and updates both at once and available = stock - reserved
+ * can never go negative.
+ * An item enters the ledger with its database stock when first reserved and
+ * leaves once nothing is held, so idle items are re-read fresh. Stock
+ * changes made elsewhere while an item is tracked are applied through
+ * tryTake/addStock; the conditional UPDATE at confirmation still guards the
+ * database against anything this process cannot see.
+ */
+@Component
+public class ReservationLedger {
+
+    private static final Hold RETIRED = new Hold(-1, 0);
+
+    private final Map<ItemKey, AtomicReference<Hold>> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Holds quantity if that much is available. The loader supplies the
+     * item's database stock when the item is not tracked yet.
+     */
+    public boolean reserve(long productId, long itemId, long quantity, LongSupplier stockLoader) {
+        ItemKey key = new ItemKey(productId, itemId);
+        while (true) {
+            AtomicReference<Hold> ref = holds.get(key);
+            if (ref == null) {
+                AtomicReference<Hold> created = new AtomicReference<>(new Hold(stockLoader.getAsLong(), 0));
+                ref = holds.putIfAbsent(key, created);
+                if (ref == null) {
+                    ref = created;
+                }
+            }
+            Hold current = ref.get();
+            if (current == RETIRED) {
+                holds.remove(key, ref);
+                continue;
+            }
+            if (current.available() < quantity) {
+                retireIfIdle(key, ref);
+                return false;
+            }
+            if (ref.compareAndSet(current, new Hold(current.stock(), current.reserved() + quantity))) {
+                return true;
+            }
+        }
+    }
+
+    // Gives held quantity back
+    public void release(long productId, long itemId, long quantity) {
+        update(productId, itemId, hold -> new Hold(hold.stock(), hold.reserved() - quantity));
+    }
+
+    // Held quantity has been taken from the database stock
+    public void commit(long productId, long itemId, long quantity) {
+        update(productId, itemId, hold -> new Hold(hold.stock() - quantity, hold.reserved() - quantity));
+    }
+
+    /**
+     * Takes unreserved stock for a direct decrement. Untracked items have
+     * nothing held, so the database check alone decides.
+     */
+    public boolean tryTake(long productId, long itemId, long quantity) {
+        AtomicReference<Hold> ref = holds.get(new ItemKey(productId, itemId));
+        while (ref != null) {
+            Hold current = ref.get();
+            if (current == RETIRED) {
+                return true;
+            }
+            if (current.available() < quantity) {
+                return false;
+            }
+            if (ref.compareAndSet(current, new Hold(current.stock() - quantity, current.reserved()))) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    // Stock added (or a taken amount given back) outside of reservations
+    public void addStock(long productId, long itemId, long quantity) {
+        AtomicReference<Hold> ref = holds.get(new ItemKey(productId, itemId));
+        if (ref == null) {
+            return;
+        }
+        Hold current;
+        do {
+            current = ref.get();
+            if (current == RETIRED) {
+                return;
+            }
+        } while (!ref.compareAndSet(current, new Hold(current.stock() + quantity, current.reserved())));
+    }
+
+    // Available quantity of a tracked item, or -1 when it is not tracked
+    public long available(long productId, long itemId) {
+        AtomicReference<Hold> ref = holds.get(new ItemKey(productId, itemId));
+        Hold hold = ref != null ? ref.get() : RETIRED;
+        return hold == RETIRED ? -1 : hold.available();
+    }
+
+    public long reserved(long productId, long itemId) {
+        AtomicReference<Hold> ref = holds.get(new ItemKey(productId, itemId));
+        return ref != null ? ref.get().reserved() : 0;
+    }
+
+    private void update(long productId, long itemId, UnaryOperator<Hold> change) {
+        ItemKey key = new ItemKey(productId, itemId);
+        AtomicReference<Hold> ref = holds.get(key);
+        if (ref == null) {
+            throw new IllegalStateException("No quantity is held for item " + itemId);
+        }
+        Hold current;
+        Hold next;
+        do {
+            current = ref.get();
+            if (current == RETIRED) {
+                throw new IllegalStateException("No quantity is held for item " + itemId);
+            }
+            next = change.apply(current);
+        } while (!ref.compareAndSet(current, next));
+        retireIfIdle(key, ref);
+    }
+
+    // Writers that find RETIRED start over with a fresh entry
+    private void retireIfIdle(ItemKey key, AtomicReference<Hold> ref) {
+        Hold current = ref.get();
+        if (current != RETIRED && current.reserved() == 0 && ref.compareAndSet(current, RETIRED)) {
+            holds.remove(key, ref);
+        }
+    }
+
+    private record Hold(long stock, long reserved) {
+        long available() {
+            return stock - reserved;
+        }
+    }
+
+    private record ItemKey(long productId, long itemId) {
+    }
+}
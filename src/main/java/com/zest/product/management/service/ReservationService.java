@@ -0,0 +1,212 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ReservationDto;
+import com.zest.product.management.dto.ReservationRequest;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.exception.TooManyRequestsException;
+import com.zest.product.management.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checkout reservations on item stock. Holds are kept in memory by
+ * ReservationLedger and expire through a timer wheel; the database is only
+ * written when a reservation is confirmed, with the same conditional stock
+ * decrement as the stock endpoints. Reservations are visible only to their
+ * owner and, like the ledger, are local to this instance and lost on restart.
+ * Each user may hold a limited number of reservations and total quantity at
+ * once, so one account cannot block an item or fill the shared pool.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationService {
+
+    private final ReservationLedger reservationLedger;
+    private final StockService stockService;
+    private final ItemRepository itemRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${zest.app.reservationTtlSeconds:300}")
+    private int defaultTtlSeconds;
+
+    @Value("${zest.app.reservationMaxTtlSeconds:900}")
+    private int maxTtlSeconds;
+
+    @Value("${zest.app.reservationMaxActive:100000}")
+    private int maxActive;
+
+    @Value("${zest.app.reservationMaxActivePerUser:20}")
+    private int maxActivePerUser;
+
+    @Value("${zest.app.reservationMaxQuantityPerUser:10000}")
+    private long maxQuantityPerUser;
+
+    @Value("${zest.app.reservationTickMs:1000}")
+    private long tickMs;
+
+    @Value("${zest.app.reservationWheelSlots:512}")
+    private int wheelSlots;
+
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<String, OwnerHolds> holdsByOwner = new ConcurrentHashMap<>();
+    private ReservationTimerWheel timerWheel;
+    private Counter expiredCounter;
+
+    @PostConstruct
+    public void init() {
+        timerWheel = new ReservationTimerWheel(tickMs, wheelSlots, System.currentTimeMillis());
+        expiredCounter = Counter.builder("products.reservations.expired")
+                .description("Reservations released because they were not confirmed in time")
+                .register(meterRegistry);
+        Gauge.builder("products.reservations.active", reservations, Map::size)
+                .description("Reservations currently holding stock")
+                .register(meterRegistry);
+    }
+
+    public ReservationDto reserve(String owner, ReservationRequest request) {
+        int ttlSeconds = request.ttlSeconds() != null ? request.ttlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new BadRequestException("ttlSeconds must be at most " + maxTtlSeconds);
+        }
+        if (reservations.size() >= maxActive) {
+            throw new TooManyRequestsException("Too many active reservations. Please retry later.");
+        }
+        holdsByOwner.compute(owner, (key, holds) -> {
+            OwnerHolds current = holds == null ? new OwnerHolds(0, 0) : holds;
+            if (current.count() >= maxActivePerUser) {
+                throw new TooManyRequestsException(
+                        "At most " + maxActivePerUser + " reservations may be held per user");
+            }
+            if (current.quantity() + request.quantity() > maxQuantityPerUser) {
+                throw new TooManyRequestsException(
+                        "At most " + maxQuantityPerUser + " units may be reserved per user");
+            }
+            return new OwnerHolds(current.count() + 1, current.quantity() + request.quantity());
+        });
+
+        long productId = request.productId();
+        long itemId = request.itemId();
+        boolean held;
+        try {
+            held = reservationLedger.reserve(productId, itemId, request.quantity(),
+                    () -> itemRepository.findQuantity(productId, itemId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId)));
+        } catch (RuntimeException e) {
+            releaseOwnerHold(owner, request.quantity());
+            throw e;
+        }
+        if (!held) {
+            releaseOwnerHold(owner, request.quantity());
+            throw new ConflictException("Insufficient available stock for item " + itemId);
+        }
+
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), owner, productId, itemId,
+                request.quantity(), Instant.now().plusSeconds(ttlSeconds));
+        reservations.put(reservation.id(), reservation);
+        timerWheel.schedule(reservation);
+        log.info("Reserved {} of item {} for user: {} until {}", request.quantity(), itemId, owner,
+                reservation.expiresAt());
+        return reservation.toDto();
+    }
+
+    public ReservationDto getReservation(String owner, String id) {
+        return findReservation(owner, id).toDto();
+    }
+
+    /**
+     * Writes the held quantity off the item's stock. If the database no
+     * longer has it (changed outside this instance) the hold is released
+     * and the confirmation fails with a conflict.
+     */
+    public ReservationDto confirm(String owner, String id) {
+        Reservation reservation = findReservation(owner, id);
+        if (!reservation.transition(Reservation.Status.HELD, Reservation.Status.CONFIRMING)) {
+            throw new ConflictException("Reservation " + id + " is " + reservation.status());
+        }
+        try {
+            stockService.confirmReserved(reservation.productId(), reservation.itemId(), reservation.quantity());
+        } catch (RuntimeException e) {
+            settle(reservation, Reservation.Status.CONFIRMING, Reservation.Status.RELEASED);
+            log.warn("Confirming reservation {} failed, hold released: {}", id, e.getMessage());
+            if (e instanceof ConflictException || e instanceof ResourceNotFoundException) {
+                throw new ConflictException("Reserved stock is no longer available for item " + reservation.itemId());
+            }
+            throw e;
+        }
+        reservationLedger.commit(reservation.productId(), reservation.itemId(), reservation.quantity());
+        reservation.transition(Reservation.Status.CONFIRMING, Reservation.Status.CONFIRMED);
+        forget(reservation);
+        log.info("Confirmed reservation {}", id);
+        return reservation.toDto();
+    }
+
+    public ReservationDto release(String owner, String id) {
+        Reservation reservation = findReservation(owner, id);
+        if (!settle(reservation, Reservation.Status.HELD, Reservation.Status.RELEASED)) {
+            throw new ConflictException("Reservation " + id + " is " + reservation.status());
+        }
+        log.info("Released reservation {}", id);
+        return reservation.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${zest.app.reservationTickMs:1000}")
+    public void expireReservations() {
+        expireReservations(System.currentTimeMillis());
+    }
+
+    int expireReservations(long nowMillis) {
+        return timerWheel.advance(nowMillis, reservation -> {
+            if (settle(reservation, Reservation.Status.HELD, Reservation.Status.EXPIRED)) {
+                expiredCounter.increment();
+                log.debug("Reservation {} expired", reservation.id());
+            }
+        });
+    }
+
+    // Gives the held quantity back if this caller wins the transition
+    private boolean settle(Reservation reservation, Reservation.Status from, Reservation.Status to) {
+        if (!reservation.transition(from, to)) {
+            return false;
+        }
+        reservationLedger.release(reservation.productId(), reservation.itemId(), reservation.quantity());
+        forget(reservation);
+        return true;
+    }
+
+    private void forget(Reservation reservation) {
+        reservations.remove(reservation.id());
+        releaseOwnerHold(reservation.owner(), reservation.quantity());
+    }
+
+    private void releaseOwnerHold(String owner, long quantity) {
+        holdsByOwner.computeIfPresent(owner, (key, holds) -> holds.count() > 1
+                ? new OwnerHolds(holds.count() - 1, holds.quantity() - quantity)
+                : null);
+    }
+
+    private Reservation findReservation(String owner, String id) {
+        Reservation reservation = reservations.get(id);
+        if (reservation == null || !reservation.owner().equals(owner)) {
+            throw new ResourceNotFoundException("Reservation", "id", id);
+        }
+        return reservation;
+    }
+
+    private record OwnerHolds(int count, long quantity) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.zest.product.management.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for reservation expiry. Scheduling is O(1) into the
+ * slot of the first tick at or after the deadline (never one that already
+ * passed); each advance drains only the slots of the
+ * ticks that passed, re-queuing entries whose deadline is a later turn of
+ * the wheel. Entries that are no longer HELD are dropped when their slot is
+ * drained. advance must be called from one thread at a time.
+ */
+class ReservationTimerWheel {
+
+    private final long tickMillis;
+    private final List<Queue<Reservation>> slots;
+    private volatile long lastTick;
+
+    ReservationTimerWheel(long tickMillis, int slotCount, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new ConcurrentLinkedQueue<>());
+        }
+        this.lastTick = nowMillis / tickMillis;
+    }
+
+    void schedule(Reservation reservation) {
+        long tick = Math.ceilDiv(reservation.expiresAt().toEpochMilli(), tickMillis);
+        slotFor(Math.max(tick, lastTick + 1)).add(reservation);
+    }
+
+    // Passes every HELD reservation due at nowMillis to onExpired and returns how many there were
+    int advance(long nowMillis, Consumer<Reservation> onExpired) {
+        long currentTick = nowMillis / tickMillis;
+        // After a long pause one full turn visits every slot
+        long firstTick = Math.max(lastTick + 1, currentTick - slots.size() + 1);
+        int expired = 0;
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            Queue<Reservation> slot = slotFor(tick);
+            List<Reservation> later = new ArrayList<>();
+            Reservation reservation;
+            while ((reservation = slot.poll()) != null) {
+                if (reservation.status() != Reservation.Status.HELD) {
+                    continue;
+                }
+                if (reservation.expiresAt().toEpochMilli() <= nowMillis) {
+                    onExpired.accept(reservation);
+                    expired++;
+                } else {
+                    later.add(reservation);
+                }
+            }
+            later.forEach(this::schedule);
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        return expired;
+    }
+
+    private Queue<Reservation> slotFor(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+}
@@ -0,0 +1,181 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.repository.ProductBulkRepository;
+import com.zest.product.management.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates stock increments for hot items in striped counters and writes
+ * the summed deltas in periodic batches, so thousands of concurrent
+ * increments of one item cost one row update per flush.
+ * Each flush runs in one transaction and updates items, then products, in
+ * ascending id order, matching the lock order of direct adjustments; a
+ * committed one also adds them to the ReservationLedger. When a flush fails,
+ * its items are retried one at a time so one bad item cannot stall the rest:
+ * a delta the database rejects as invalid (e.g. quantity out of range) is
+ * parked and logged, any other failure puts the delta back for the next flush. Accepted deltas live
+ * only in memory until flushed: shutdown flushes, a crash loses them.
+ */
+@Component
+@Slf4j
+public class StockCoalescer {
+
+    private final ProductBulkRepository productBulkRepository;
+    private final ProductCache productCache;
+    private final ChangeLog changeLog;
+    private final ReservationLedger reservationLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter coalescedCounter;
+    private final Timer flushTimer;
+
+    // Entries are kept between flushes so writers never add to a removed counter
+    private final Map<ItemKey, LongAdder> pending = new ConcurrentHashMap<>();
+    // Deltas that cannot be applied, kept out of later flushes
+    private final Map<ItemKey, Long> parked = new ConcurrentHashMap<>();
+
+    public StockCoalescer(ProductBulkRepository productBulkRepository, ProductCache productCache,
+            ChangeLog changeLog, ReservationLedger reservationLedger, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.productBulkRepository = productBulkRepository;
+        this.productCache = productCache;
+        this.changeLog = changeLog;
+        this.reservationLedger = reservationLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.coalescedCounter = Counter.builder("products.stock.coalesced")
+                .description("Stock increments accepted into the coalescing buffer")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("products.stock.flush")
+                .description("Time spent writing one batch of coalesced stock increments")
+                .register(meterRegistry);
+        Gauge.builder("products.stock.parked", parked, Map::size)
+                .description("Items whose coalesced stock delta was rejected and set aside")
+                .register(meterRegistry);
+    }
+
+    // An item seen before was validated then, so callers can skip the existence check
+    public boolean isTracked(long productId, long itemId) {
+        return pending.containsKey(new ItemKey(productId, itemId));
+    }
+
+    public void add(long productId, long itemId, long delta) {
+        pending.computeIfAbsent(new ItemKey(productId, itemId), key -> new LongAdder()).add(delta);
+        coalescedCounter.increment();
+    }
+
+    /**
+     * Writes everything accumulated so far and returns the number of items
+     * updated. Flushes never overlap.
+     */
+    @Scheduled(fixedDelayString = "${zest.app.stockFlushMs:100}")
+    public synchronized int flush() {
+        Map<ItemKey, Long> deltas = new TreeMap<>(Comparator.comparingLong(ItemKey::itemId));
+        pending.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(key, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return flushTimer.record(() -> write(deltas));
+        } catch (DataAccessException e) {
+            log.warn("Stock flush of {} items failed, retrying them one at a time: {}", deltas.size(),
+                    e.getMessage());
+            return flushTimer.record(() -> writeEach(deltas));
+        }
+    }
+
+    // Parked delta of an item, or 0
+    long parkedDelta(long productId, long itemId) {
+        return parked.getOrDefault(new ItemKey(productId, itemId), 0L);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private int writeEach(Map<ItemKey, Long> deltas) {
+        int updated = 0;
+        for (Map.Entry<ItemKey, Long> entry : deltas.entrySet()) {
+            ItemKey key = entry.getKey();
+            long delta = entry.getValue();
+            try {
+                updated += write(Map.of(key, delta));
+            } catch (DataIntegrityViolationException e) {
+                // The same delta would fail again on every flush
+                parked.merge(key, delta, Long::sum);
+                log.error("Parking stock delta {} for item {} of product {}: {}", delta, key.itemId(),
+                        key.productId(), e.getMostSpecificCause().getMessage());
+            } catch (DataAccessException e) {
+                log.error("Stock delta {} for item {} failed, retrying with the next flush", delta, key.itemId(), e);
+                restore(key, delta);
+            }
+        }
+        return updated;
+    }
+
+    // Puts a delta back without counting it as a new increment
+    private void restore(ItemKey key, long delta) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private int write(Map<ItemKey, Long> deltas) {
+        return transactionTemplate.execute(status -> {
+            List<ProductBulkRepository.QuantityDelta> itemDeltas = new ArrayList<>(deltas.size());
+            deltas.forEach((key, delta) ->
+                    itemDeltas.add(new ProductBulkRepository.QuantityDelta(key.productId(), key.itemId(), delta)));
+            int[] counts = productBulkRepository.addToItemQuantities(itemDeltas);
+
+            Map<Long, Long> productDeltas = new TreeMap<>();
+            List<ProductBulkRepository.QuantityDelta> applied = new ArrayList<>(counts.length);
+            int updated = 0;
+            for (int i = 0; i < counts.length; i++) {
+                ProductBulkRepository.QuantityDelta delta = itemDeltas.get(i);
+                if (counts[i] == 0) {
+                    // Item was deleted since its increments were accepted
+                    log.warn("Dropping stock delta {} for missing item {}", delta.delta(), delta.itemId());
+                    pending.remove(new ItemKey(delta.productId(), delta.itemId()));
+                    continue;
+                }
+                productDeltas.merge(delta.productId(), delta.delta(), Long::sum);
+                changeLog.itemChanged(ChangeType.UPDATED, delta.productId(), delta.itemId(), null);
+                applied.add(delta);
+                updated++;
+            }
+            // Items with reservations are tracked in the ledger, which must see the new stock too
+            TransactionHooks.afterCommit(() -> applied.forEach(delta ->
+                    reservationLedger.addStock(delta.productId(), delta.itemId(), delta.delta())));
+            if (!productDeltas.isEmpty()) {
+                productBulkRepository.addToTotalQuantities(productDeltas);
+                productDeltas.keySet().forEach(productCache::evictAfterCommit);
+            }
+            return updated;
+        });
+    }
+
+    private record ItemKey(long productId, long itemId) {
+    }
+}
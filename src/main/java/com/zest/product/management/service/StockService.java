@@ -0,0 +1,96 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.StockAdjustmentDto;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Item stock increments and decrements. Each adjustment is one conditional
+ * UPDATE of the item (stock may not go below zero) plus an increment of the
+ * product's total quantity, with no read-modify-write. When coalescing is
+ * enabled, increments are accepted into StockCoalescer and written in
+ * batches; decrements always run directly because they must see the current
+ * stock to enforce the lower bound. Quantity held by reservations is not
+ * available to direct decrements.
+ */
+@Service
+@Slf4j
+public class StockService {
+
+    private final ItemRepository itemRepository;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final StockCoalescer stockCoalescer;
+    private final ReservationLedger reservationLedger;
+    private final ChangeLog changeLog;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${zest.app.stockCoalescing:false}")
+    private boolean coalescing;
+
+    public StockService(ItemRepository itemRepository, ProductRepository productRepository,
+            ProductCache productCache, StockCoalescer stockCoalescer, ReservationLedger reservationLedger,
+            ChangeLog changeLog, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.stockCoalescer = stockCoalescer;
+        this.reservationLedger = reservationLedger;
+        this.changeLog = changeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public StockAdjustmentDto increment(Long productId, Long itemId, int amount) {
+        if (!coalescing) {
+            StockAdjustmentDto result = adjust(productId, itemId, amount);
+            reservationLedger.addStock(productId, itemId, amount);
+            return result;
+        }
+        if (!stockCoalescer.isTracked(productId, itemId) && !itemRepository.existsByIdAndProductId(itemId, productId)) {
+            throw new ResourceNotFoundException("Item", "id", itemId);
+        }
+        stockCoalescer.add(productId, itemId, amount);
+        return new StockAdjustmentDto(productId, itemId, null, true);
+    }
+
+    public StockAdjustmentDto decrement(Long productId, Long itemId, int amount) {
+        if (!reservationLedger.tryTake(productId, itemId, amount)) {
+            throw new ConflictException("Insufficient unreserved stock: item " + itemId);
+        }
+        try {
+            return adjust(productId, itemId, -amount);
+        } catch (RuntimeException e) {
+            reservationLedger.addStock(productId, itemId, amount);
+            throw e;
+        }
+    }
+
+    // Takes stock already held by a reservation; the ledger is settled by the caller
+    StockAdjustmentDto confirmReserved(long productId, long itemId, int quantity) {
+        return adjust(productId, itemId, -quantity);
+    }
+
+    private StockAdjustmentDto adjust(Long productId, Long itemId, int delta) {
+        log.debug("Adjusting stock of item {} of product {} by {}", itemId, productId, delta);
+        return transactionTemplate.execute(status -> {
+            if (itemRepository.adjustQuantity(productId, itemId, delta) == 0) {
+                // Only the failure path reads, to tell a missing item from insufficient stock
+                int current = itemRepository.findQuantity(productId, itemId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
+                throw new ConflictException("Insufficient stock: item " + itemId + " has " + current);
+            }
+            productRepository.addToTotalQuantity(productId, delta);
+            productCache.evictAfterCommit(productId);
+            changeLog.itemChanged(ChangeType.UPDATED, productId, itemId, null);
+            Integer quantity = itemRepository.findQuantity(productId, itemId).orElse(null);
+            return new StockAdjustmentDto(productId, itemId, quantity, false);
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.zest.product.management.util;
+
+import com.zest.product.management.exception.PreconditionFailedException;
+
+/**
+ * Builds and parses the strong ETags used for conditional product requests.
+ * A product ETag is its version; an item list ETag combines the item count,
+ * the sum of item versions and the highest item id, so any add, update or
+ * delete changes it. A product read with its items combines both.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forVersion(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String forItems(long itemCount, long versionSum, long maxId) {
+        return "\"" + itemCount + "-" + versionSum + "-" + maxId + "\"";
+    }
+
+    public static String forProductWithItems(long version, String itemsTag) {
+        return "\"" + version + ":" + itemsTag.substring(1, itemsTag.length() - 1) + "\"";
+    }
+
+    /**
+     * Returns the version named by an If-Match header, or null when the header
+     * is absent or "*". Weak or non-numeric tags can never match a strong
+     * version and fail the precondition.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
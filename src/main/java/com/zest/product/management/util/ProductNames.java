@@ -0,0 +1,32 @@
+package com.zest.product.management.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Product name comparison key matching how MySQL's default case- and
+ * accent-insensitive collation compares product_name, so in-memory name
+ * maps agree with the unique index.
+ */
+public final class ProductNames {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private ProductNames() {
+    }
+
+    /**
+     * Lower-cased, without accents and trailing spaces; two names with the
+     * same key collide on the unique product_name index.
+     */
+    public static String normalize(String name) {
+        String key = name.stripTrailing().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 0x7f) {
+                return COMBINING_MARKS.matcher(Normalizer.normalize(key, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return key;
+    }
+}
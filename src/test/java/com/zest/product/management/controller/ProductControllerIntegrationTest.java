@@ -1,12 +1,21 @@
 package com.zest.product.management.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.product.management.dto.ItemDto;
 import com.zest.product.management.dto.ProductDto;
+import com.zest.product.management.dto.ProductPatchRequest;
+import com.zest.product.management.entity.Item;
+import com.zest.product.management.entity.Product;
 import com.zest.product.management.entity.Role;
 import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.ProductRepository;
 import com.zest.product.management.repository.RoleRepository;
 import com.zest.product.management.repository.UserRepository;
 import com.zest.product.management.security.JwtUtils;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,10 +28,21 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -41,6 +61,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -53,6 +76,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private String adminToken;
     private String userToken;
 
@@ -114,6 +140,22 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.productName").value("Test Integration Product"));
     }
 
+    @Test
+    void createProduct_WithExistingName_ShouldReturnConflict() throws Exception {
+        // Saved behind the name filter's back, so only the unique constraint can catch the duplicate
+        productRepository.saveAndFlush(Product.builder().productName("Taken Name").build());
+        ProductDto productDto = new ProductDto();
+        productDto.setProductName("Taken Name");
+
+        mockMvc.perform(post("/api/v1/products")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("CONFLICT"))
+                .andExpect(jsonPath("$.message").value("Product name already exists"));
+    }
+
     @Test
     void createProduct_AsUser_ShouldReturnForbidden() throws Exception {
         ProductDto productDto = new ProductDto();
@@ -146,6 +188,40 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Product deleted successfully"));
     }
 
+    @Test
+    void deleteProducts_ByIds_ShouldRemoveProductsWithItemsAndReportMissingIds() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Product product = Product.builder().productName("Bulk delete " + i).build();
+            for (int k = 0; k < 50; k++) {
+                product.addItem(Item.builder().quantity(1).build());
+            }
+            ids.add(productRepository.saveAndFlush(product).getId());
+        }
+        String query = "?ids=" + ids.get(0) + "," + ids.get(1) + ",999999";
+
+        mockMvc.perform(delete("/api/v1/products" + query)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(delete("/api/v1/products" + query)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted.length()").value(2))
+                .andExpect(jsonPath("$.data.notFound[0]").value(999999));
+
+        Long remainingItems = entityManager
+                .createQuery("select count(i) from Item i where i.product.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getSingleResult();
+        Long remainingProducts = entityManager
+                .createQuery("select count(p) from Product p where p.id in :ids", Long.class)
+                .setParameter("ids", ids)
+                .getSingleResult();
+        assertEquals(0L, remainingItems);
+        assertEquals(0L, remainingProducts);
+    }
+
     @Test
     void getProductById_WhenNotFound_ShouldReturn404() throws Exception {
         mockMvc.perform(get("/api/v1/products/999")
@@ -166,6 +242,585 @@ class ProductControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void scrollProducts_ShouldWalkAllProductsByCursorWithoutDuplicates() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            productRepository.save(Product.builder().productName("Scroll Product " + i).build());
+        }
+        long total = productRepository.count();
+
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/products/scroll")
+                    .header("Authorization", "Bearer " + userToken)
+                    .param("size", "2")
+                    .param("sort", "productName")
+                    .param("direction", "desc");
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+            JsonNode data = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("data");
+            data.get("content").forEach(product -> names.add(product.get("productName").asText()));
+            cursor = data.get("nextCursor").isNull() ? null : data.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertEquals(total, names.size());
+        List<String> expected = new ArrayList<>(names);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(expected, names);
+    }
+
+    @Test
+    void getAllProducts_WithUnindexedSort_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .header("Authorization", "Bearer " + userToken)
+                .param("size", "100000")
+                .param("sort", "createdBy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void getAllProducts_WithOversizedPage_ShouldClampSize() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .header("Authorization", "Bearer " + userToken)
+                .param("size", "100000")
+                .param("sort", "createdOn,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.size").value(100));
+    }
+
+    @Test
+    void scrollProducts_WithInvalidCursor_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/products/scroll")
+                .header("Authorization", "Bearer " + userToken)
+                .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void scrollProducts_WithUnparseableCursorValue_ShouldReturn400() throws Exception {
+        for (String raw : List.of("CREATED_ON|ASC|1|null", "MODIFIED_ON|DESC|1|yesterday", "TOTAL_QUANTITY|ASC|1|abc")) {
+            String cursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            mockMvc.perform(get("/api/v1/products/scroll")
+                    .header("Authorization", "Bearer " + userToken)
+                    .param("after", cursor))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        }
+    }
+
+    @Test
+    void getProductById_WithMatchingETag_ShouldReturn304() throws Exception {
+        Product product = productRepository.saveAndFlush(Product.builder().productName("ETag Product").build());
+
+        String etag = mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(0))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals("\"0\"", etag);
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateProduct_WithIfMatch_ShouldRejectStaleVersion() throws Exception {
+        Product product = productRepository.saveAndFlush(Product.builder().productName("Versioned").build());
+        ProductDto productDto = new ProductDto();
+        productDto.setProductName("Versioned v2");
+
+        mockMvc.perform(put("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        productDto.setProductName("Versioned v3");
+        mockMvc.perform(put("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(delete("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchProduct_ShouldRenameInOneStatementAndReportMissingOrStale() throws Exception {
+        Product product = productRepository.saveAndFlush(Product.builder().productName("Patch Me").build());
+
+        mockMvc.perform(patch("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductPatchRequest("Patched", 0L))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.data.productName").value("Patched"))
+                .andExpect(jsonPath("$.data.version").value(1))
+                .andExpect(jsonPath("$.data.modifiedBy").value("admin_test"));
+
+        mockMvc.perform(patch("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductPatchRequest("Patched again", 0L))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("CONFLICT"));
+
+        mockMvc.perform(patch("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + adminToken)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductPatchRequest("Patched again", null))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/v1/products/999999")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductPatchRequest("Ghost", null))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(patch("/api/v1/products/" + product.getId())
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductPatchRequest("Nope", null))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getItemsByProductId_ShouldChangeETagWhenItemsChange() throws Exception {
+        Product product = productRepository.saveAndFlush(Product.builder().productName("Items ETag").build());
+
+        String etag = mockMvc.perform(get("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setQuantity(5);
+        mockMvc.perform(post("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isOk());
+
+        String newEtag = mockMvc.perform(get("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void getAllProducts_IncludeItems_ShouldLoadItemsWithOneExtraQuery() throws Exception {
+        productRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            Product product = Product.builder().productName("With items " + i).build();
+            for (int j = 0; j <= i; j++) {
+                product.addItem(Item.builder().quantity(j + 1).build());
+            }
+            productRepository.save(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("size", "50")
+                .param("include", "items")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(5))
+                .andExpect(jsonPath("$.data.content[0].items.length()").value(1))
+                .andExpect(jsonPath("$.data.content[4].items.length()").value(5))
+                .andExpect(jsonPath("$.data.content[4].items[4].quantity").value(5));
+
+        // One page query and one IN query for the items; a short first page needs no count query
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getProductById_IncludeItems_ShouldChangeETagWhenItemsChange() throws Exception {
+        Product product = Product.builder().productName("Detail items").build();
+        product.addItem(Item.builder().quantity(4).build());
+        product = productRepository.saveAndFlush(product);
+
+        String etag = mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .param("include", "items")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].quantity").value(4))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .param("include", "items")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        ItemDto itemDto = new ItemDto();
+        itemDto.setQuantity(6);
+        mockMvc.perform(post("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .param("include", "items")
+                .header("Authorization", "Bearer " + userToken)
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2));
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId())
+                .param("include", "variants")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void scrollItemsByProductId_ShouldWalkItemsByCursor() throws Exception {
+        Product product = Product.builder().productName("Scroll items").build();
+        for (int i = 1; i <= 5; i++) {
+            product.addItem(Item.builder().quantity(i).build());
+        }
+        product = productRepository.saveAndFlush(product);
+
+        List<Integer> quantities = new ArrayList<>();
+        String after = null;
+        do {
+            var request = get("/api/v1/products/" + product.getId() + "/items/scroll")
+                    .param("size", "2")
+                    .header("Authorization", "Bearer " + userToken);
+            if (after != null) {
+                request.param("after", after);
+            }
+            JsonNode data = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString()).get("data");
+            data.get("content").forEach(item -> quantities.add(item.get("quantity").asInt()));
+            after = data.get("nextCursor").isNull() ? null : data.get("nextCursor").asText();
+        } while (after != null);
+        assertEquals(List.of(1, 2, 3, 4, 5), quantities);
+
+        Product empty = productRepository.saveAndFlush(Product.builder().productName("No items").build());
+        mockMvc.perform(get("/api/v1/products/" + empty.getId() + "/items/scroll")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(0))
+                .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+
+        mockMvc.perform(get("/api/v1/products/999999/items/scroll")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void productSummary_ShouldAggregateItemsAndFilterByTotalQuantity() throws Exception {
+        Product small = productRepository.saveAndFlush(Product.builder().productName("Summary small").build());
+        Product large = productRepository.saveAndFlush(Product.builder().productName("Summary large").build());
+        for (int quantity : new int[] { 40, 60 }) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setQuantity(quantity);
+            mockMvc.perform(post("/api/v1/products/" + large.getId() + "/items")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(itemDto)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/v1/products/" + large.getId() + "/summary")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.itemCount").value(2))
+                .andExpect(jsonPath("$.data.totalQuantity").value(100));
+
+        mockMvc.perform(get("/api/v1/products/" + large.getId())
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalQuantity").value(100))
+                .andExpect(jsonPath("$.data.version").value(2));
+
+        mockMvc.perform(get("/api/v1/products/summary")
+                .param("minTotalQuantity", "50")
+                .param("sort", "totalQuantity,desc")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(large.getId()))
+                .andExpect(jsonPath("$.data.content[0].totalQuantity").value(100));
+
+        mockMvc.perform(get("/api/v1/products/" + small.getId() + "/summary")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.itemCount").value(0))
+                .andExpect(jsonPath("$.data.totalQuantity").value(0));
+
+        mockMvc.perform(post("/api/v1/products/999999/items")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void stockAdjustments_ShouldChangeQuantityAndRejectOversell() throws Exception {
+        Product product = Product.builder().productName("Stock endpoint").totalQuantity(5L).build();
+        Item item = Item.builder().quantity(5).build();
+        product.addItem(item);
+        product = productRepository.saveAndFlush(product);
+        String base = "/api/v1/products/" + product.getId() + "/items/" + item.getId() + "/stock/";
+
+        mockMvc.perform(post(base + "increment")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 3}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.quantity").value(8))
+                .andExpect(jsonPath("$.data.pending").value(false));
+
+        mockMvc.perform(post(base + "decrement")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 1}"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post(base + "decrement")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(base + "decrement")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 9}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void reservations_ShouldHoldStockUntilConfirmedAndStayPrivateToOwner() throws Exception {
+        Product product = Product.builder().productName("Reservation endpoint").totalQuantity(5L).build();
+        Item item = Item.builder().quantity(5).build();
+        product.addItem(item);
+        product = productRepository.saveAndFlush(product);
+        String body = "{\"productId\": " + product.getId() + ", \"itemId\": " + item.getId() + ", \"quantity\": %d}";
+
+        String response = mockMvc.perform(post("/api/v1/reservations")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.formatted(4)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.status").value("HELD"))
+                .andReturn().getResponse().getContentAsString();
+        String reservationId = objectMapper.readTree(response).path("data").path("id").asText();
+
+        mockMvc.perform(post("/api/v1/reservations")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.formatted(2)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/v1/reservations/" + reservationId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/v1/reservations/" + reservationId + "/confirm")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
+
+        mockMvc.perform(get("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].quantity").value(1));
+    }
+
+    @Test
+    void changeEndpoints_ShouldServeDeltaPagesAndResetUnknownLastEventId() throws Exception {
+        mockMvc.perform(get("/api/v1/changes?since=0&limit=10")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content").isArray());
+
+        mockMvc.perform(get("/api/v1/changes?since=-1")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/changes/stream"))
+                .andExpect(status().isUnauthorized());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/changes/stream")
+                .header("Authorization", "Bearer " + userToken)
+                .header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.getResponse().getContentAsString().contains("event:reset") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, result.getResponse().getContentType());
+        assertTrue(result.getResponse().getContentAsString().contains("event:reset"));
+    }
+
+    @Test
+    void getProductsByIds_ShouldKeepRequestOrderAndMarkMissingIds() throws Exception {
+        Product first = productRepository.saveAndFlush(Product.builder().productName("Multi A").build());
+        Product second = productRepository.saveAndFlush(Product.builder().productName("Multi B").build());
+        ItemDto itemDto = new ItemDto();
+        itemDto.setQuantity(3);
+        mockMvc.perform(post("/api/v1/products/" + second.getId() + "/items")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("ids", second.getId() + ",999999," + first.getId())
+                .param("include", "items")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].id").value(second.getId()))
+                .andExpect(jsonPath("$.data[0].product.items.length()").value(1))
+                .andExpect(jsonPath("$.data[0].product.items[0].quantity").value(3))
+                .andExpect(jsonPath("$.data[1].found").value(false))
+                .andExpect(jsonPath("$.data[1].product").isEmpty())
+                .andExpect(jsonPath("$.data[2].product.productName").value("Multi A"))
+                .andExpect(jsonPath("$.data[2].product.items.length()").value(0));
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("ids", String.valueOf(first.getId()))
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].found").value(true))
+                .andExpect(jsonPath("$.data[0].product.items").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("ids", "1,abc")
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportProducts_ShouldStreamCsvAttachment() throws Exception {
+        var result = mockMvc.perform(get("/api/v1/products/export")
+                .header("Authorization", "Bearer " + userToken)
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""))
+                .andExpect(content().string(startsWith("product_id,product_name,")));
+    }
+
+    @Test
+    void exportProducts_WithUnknownFormat_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export")
+                .header("Authorization", "Bearer " + userToken)
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void exportJob_ShouldBeVisibleOnlyToItsOwner() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/products/export-jobs")
+                .header("Authorization", "Bearer " + userToken)
+                .param("format", "ndjson"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.format").value("ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(response).get("data").get("id").asText();
+
+        mockMvc.perform(get("/api/v1/products/export-jobs/" + jobId)
+                .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(jobId));
+
+        mockMvc.perform(get("/api/v1/products/export-jobs/" + jobId)
+                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void importProducts_AsAdmin_ShouldReturnReport() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content("product_name,item_quantity\nImported A,3\nImported B,0\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rowsImported").value(1))
+                .andExpect(jsonPath("$.data.errors[0].line").value(3));
+
+        mockMvc.perform(post("/api/v1/products/import")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType("application/x-ndjson")
+                .content("{\"productName\":\"Not allowed\"}\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void batchProducts_AsAdmin_ShouldReturnResultPerOperation() throws Exception {
+        Product product = productRepository.saveAndFlush(Product.builder().productName("Batch Target").build());
+        String body = """
+                {"operations": [
+                  {"op": "CREATE", "productName": "Batch Created"},
+                  {"op": "UPDATE", "id": %d, "productName": "Batch Renamed", "version": 0},
+                  {"op": "DELETE", "id": 987654}
+                ]}""".formatted(product.getId());
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data[1].status").value("UPDATED"))
+                .andExpect(jsonPath("$.data[2].status").value("NOT_FOUND"));
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\": [{\"op\": \"UPSERT\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("MALFORMED_REQUEST"));
+    }
+
     @Test
     void optionsRequest_ShouldReturnCorsHeaders() throws Exception {
         mockMvc.perform(options("/api/v1/products")
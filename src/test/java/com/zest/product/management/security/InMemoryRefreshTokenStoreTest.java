@@ -0,0 +1,119 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.RefreshToken;
+import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.RefreshTokenRepository;
+import com.zest.product.management.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryRefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryRefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenStore = new InMemoryRefreshTokenStore(refreshTokenRepository, userRepository, transactionManager);
+        ReflectionTestUtils.setField(refreshTokenStore, "flushBatchSize", 2);
+    }
+
+    @Test
+    void rotate_ShouldInvalidatePreviousTokenWithoutTouchingDatabase() {
+        RefreshToken first = refreshTokenStore.rotate(1L, "testuser", Instant.now().plusSeconds(60));
+        RefreshToken second = refreshTokenStore.rotate(1L, "testuser", Instant.now().plusSeconds(60));
+
+        assertTrue(refreshTokenStore.findByToken(first.getToken()).isEmpty());
+        assertEquals(second, refreshTokenStore.findByToken(second.getToken()).orElseThrow());
+        assertEquals(1, refreshTokenStore.pendingWriteCount());
+        verifyNoInteractions(refreshTokenRepository, userRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteLatestStatePerUserInBatches() {
+        refreshTokenStore.rotate(1L, "a", Instant.now().plusSeconds(60));
+        refreshTokenStore.rotate(1L, "a", Instant.now().plusSeconds(60));
+        refreshTokenStore.rotate(2L, "b", Instant.now().plusSeconds(60));
+        RefreshToken removed = refreshTokenStore.rotate(3L, "c", Instant.now().plusSeconds(60));
+        refreshTokenStore.delete(removed);
+
+        refreshTokenStore.flush();
+
+        ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<List<RefreshToken>> saved = ArgumentCaptor.forClass(List.class);
+        verify(refreshTokenRepository, times(2)).deleteByUserIdIn(deleted.capture());
+        verify(refreshTokenRepository, times(2)).saveAll(saved.capture());
+        assertEquals(3, deleted.getAllValues().stream().mapToInt(Collection::size).sum());
+        assertEquals(2, saved.getAllValues().stream().mapToInt(List::size).sum());
+        assertEquals(0, refreshTokenStore.pendingWriteCount());
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldRequeueChanges() {
+        when(refreshTokenRepository.deleteByUserIdIn(anyCollection())).thenThrow(new IllegalStateException("db down"));
+        refreshTokenStore.rotate(1L, "a", Instant.now().plusSeconds(60));
+
+        refreshTokenStore.flush();
+
+        assertEquals(1, refreshTokenStore.pendingWriteCount());
+    }
+
+    @Test
+    void flush_WhenRowViolatesConstraint_ShouldDropOnlyThatChange() {
+        when(refreshTokenRepository.deleteByUserIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(0);
+            if (userIds.contains(2L)) {
+                throw new DataIntegrityViolationException("user 2 no longer exists");
+            }
+            return userIds.size();
+        });
+        refreshTokenStore.rotate(1L, "a", Instant.now().plusSeconds(60));
+        refreshTokenStore.rotate(2L, "b", Instant.now().plusSeconds(60));
+
+        refreshTokenStore.flush();
+
+        verify(refreshTokenRepository).deleteByUserIdIn(List.of(1L));
+        assertEquals(0, refreshTokenStore.pendingWriteCount());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldRecoverActiveTokens() {
+        User user = User.builder().id(9L).username("restored").build();
+        RefreshToken persisted = RefreshToken.builder().id(1L).user(user).token("persisted-token")
+                .expiryDate(Instant.now().plusSeconds(60)).build();
+        when(refreshTokenRepository.findByExpiryDateAfter(any(Instant.class))).thenReturn(List.of(persisted));
+
+        refreshTokenStore.afterSingletonsInstantiated();
+
+        RefreshToken restored = refreshTokenStore.findByToken("persisted-token").orElseThrow();
+        assertEquals(9L, restored.getUser().getId());
+        assertEquals("restored", restored.getUser().getUsername());
+        assertEquals(0, refreshTokenStore.pendingWriteCount());
+    }
+}
@@ -0,0 +1,66 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.RefreshToken;
+import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.RefreshTokenRepository;
+import com.zest.product.management.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaRefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private JpaRefreshTokenStore refreshTokenStore;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).username("testuser").build();
+    }
+
+    @Test
+    void rotate_ShouldUpsertToken() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(refreshTokenRepository.findByUser(user)).thenReturn(Optional.empty());
+        when(refreshTokenRepository.saveAndFlush(any(RefreshToken.class))).thenAnswer(i -> i.getArgument(0));
+
+        RefreshToken result = refreshTokenStore.rotate(1L, "testuser", Instant.now().plusSeconds(60));
+
+        assertNotNull(result.getToken());
+        assertEquals(user, result.getUser());
+        verify(refreshTokenRepository).saveAndFlush(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_WhenTokenExists_ShouldReuseRow() {
+        RefreshToken existing = RefreshToken.builder().id(5L).user(user).token("old")
+                .expiryDate(Instant.now()).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(refreshTokenRepository.findByUser(user)).thenReturn(Optional.of(existing));
+        when(refreshTokenRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        RefreshToken result = refreshTokenStore.rotate(1L, "testuser", Instant.now().plusSeconds(60));
+
+        assertEquals(5L, result.getId());
+        assertNotEquals("old", result.getToken());
+    }
+}
@@ -0,0 +1,81 @@
+package com.zest.product.management.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtUtils jwtUtils;
+    private JwtAuthenticationFilter filter;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "testSecretKeyWithEnoughLengthForHS256AlgorithmVerification");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        jwtUtils.init();
+        filter = new JwtAuthenticationFilter(jwtUtils, userDetailsService);
+        principal = new UserPrincipal(7L, "user_test", "user@test.com", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_ShouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("user_test", authentication.getName());
+        assertEquals(7L, ((UserPrincipal) authentication.getPrincipal()).getId());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void databaseMode_ShouldReloadUser() throws Exception {
+        ReflectionTestUtils.setField(filter, "statelessAuth", false);
+        when(userDetailsService.loadUserByUsername("user_test")).thenReturn(principal);
+
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername("user_test");
+    }
+
+    private MockHttpServletRequest requestWithToken() {
+        String token = jwtUtils.generateTokenFromUsername(principal.getUsername(), principal.getId(),
+                principal.getAuthorities());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -1,13 +1,18 @@
 package com.zest.product.management.security;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +33,8 @@ class JwtUtilsTest {
         ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
                 "testSecretKeyWithEnoughLengthForHS256AlgorithmVerification");
         ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCacheMaxSize", 100L);
+        jwtUtils.init();
     }
 
     @Test
@@ -42,6 +49,44 @@ class JwtUtilsTest {
         assertEquals("testuser", jwtUtils.getUserNameFromJwtToken(token));
     }
 
+    @Test
+    void generateJwtToken_WithUserPrincipal_ShouldEmbedIdAndRoles() {
+        UserPrincipal principal = new UserPrincipal(42L, "admin", "admin@test.com", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        when(authentication.getPrincipal()).thenReturn(principal);
+
+        String token = jwtUtils.generateJwtToken(authentication);
+        Claims claims = jwtUtils.getClaimsFromJwtToken(token);
+
+        assertTrue(jwtUtils.hasAuthorityClaims(claims));
+        UserPrincipal restored = jwtUtils.getPrincipalFromClaims(claims);
+        assertEquals(42L, restored.getId());
+        assertEquals("admin", restored.getUsername());
+        assertEquals("ROLE_ADMIN", restored.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void verifyJwtToken_ShouldParseOnceAndServeFromCache() {
+        String token = jwtUtils.generateTokenFromUsername("testuser", 1L,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        Optional<Claims> first = jwtUtils.verifyJwtToken(token);
+        Optional<Claims> second = jwtUtils.verifyJwtToken(token);
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        assertEquals("testuser", second.get().getSubject());
+    }
+
+    @Test
+    void verifyJwtToken_WhenSignatureTampered_ShouldReturnEmpty() {
+        String token = jwtUtils.generateTokenFromUsername("testuser", 1L,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtUtils.verifyJwtToken(tampered).isEmpty());
+    }
+
     @Test
     void validateJwtToken_WhenInvalid_ShouldReturnFalse() {
         assertFalse(jwtUtils.validateJwtToken("invalid-token"));
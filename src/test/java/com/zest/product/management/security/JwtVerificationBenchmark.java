@@ -0,0 +1,72 @@
+package com.zest.product.management.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Microbenchmark for the per-request cost of JWT verification.
+ * Compares the previous pipeline (key + parser rebuilt, token parsed twice)
+ * with the single-parse prebuilt parser and the verified-token cache.
+ * Not a unit test; run the main method from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...JwtVerificationBenchmark}.
+ */
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "testSecretKeyWithEnoughLengthForHS256AlgorithmVerification";
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        JwtUtils uncached = newJwtUtils(0);
+        JwtUtils cached = newJwtUtils(10_000);
+        String token = cached.generateTokenFromUsername("bench_user", 1L,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        report("legacy (rebuild key + parser, parse twice)", () -> legacyVerify(token));
+        report("single parse, prebuilt parser", () -> uncached.verifyJwtToken(token).orElseThrow().getSubject());
+        report("single parse, verified-token cache", () -> cached.verifyJwtToken(token).orElseThrow().getSubject());
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static String legacyVerify(String token) {
+        Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).build()
+                .parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build().parseSignedClaims(token).getPayload();
+        return claims.getSubject();
+    }
+
+    private static JwtUtils newJwtUtils(long cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCacheMaxSize", cacheSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    private static void report(String name, Verifier verifier) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += verifier.verify().length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += verifier.verify().length();
+        }
+        double nsPerOp = (double) (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-45s %10.0f ns/request%n", name, nsPerOp);
+    }
+
+    @FunctionalInterface
+    private interface Verifier {
+        String verify();
+    }
+}
@@ -0,0 +1,64 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.RefreshToken;
+import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.RefreshTokenRepository;
+import com.zest.product.management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RefreshTokenPurgeJobTest {
+
+    @Autowired
+    private RefreshTokenPurgeJob purgeJob;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void purgeExpiredTokens_ShouldDeleteOnlyExpiredRowsInBatches() {
+        refreshTokenRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            saveToken("expired" + i, Instant.now().minusSeconds(60));
+        }
+        saveToken("active", Instant.now().plusSeconds(600));
+        ReflectionTestUtils.setField(purgeJob, "batchSize", 2);
+        ReflectionTestUtils.setField(purgeJob, "pauseMs", 0L);
+        double purgedBefore = meterRegistry.get("auth.refresh_token.purge.rows").counter().count();
+        long batchesBefore = meterRegistry.get("auth.refresh_token.purge.batch").timer().count();
+
+        purgeJob.purgeExpiredTokens();
+
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenRepository.findByToken("active").isPresent());
+        assertEquals(5, meterRegistry.get("auth.refresh_token.purge.rows").counter().count() - purgedBefore);
+        assertEquals(3, meterRegistry.get("auth.refresh_token.purge.batch").timer().count() - batchesBefore);
+    }
+
+    private void saveToken(String value, Instant expiry) {
+        User user = userRepository.save(User.builder()
+                .username("purge_" + value)
+                .email(value + "@purge.test")
+                .password("hash")
+                .build());
+        refreshTokenRepository.save(RefreshToken.builder().user(user).token(value).expiryDate(expiry).build());
+    }
+}
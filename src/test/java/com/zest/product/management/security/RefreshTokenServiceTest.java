@@ -2,8 +2,6 @@ package com.zest.product.management.security;
 
 import com.zest.product.management.entity.RefreshToken;
 import com.zest.product.management.entity.User;
-import com.zest.product.management.repository.RefreshTokenRepository;
-import com.zest.product.management.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,10 +22,7 @@ import static org.mockito.Mockito.*;
 class RefreshTokenServiceTest {
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
-
-    @Mock
-    private UserRepository userRepository;
+    private RefreshTokenStore refreshTokenStore;
 
     @InjectMocks
     private RefreshTokenService refreshTokenService;
@@ -47,21 +42,20 @@ class RefreshTokenServiceTest {
 
     @Test
     void findByToken_ShouldReturnToken() {
-        when(refreshTokenRepository.findByToken(anyString())).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenStore.findByToken(anyString())).thenReturn(Optional.of(refreshToken));
         Optional<RefreshToken> result = refreshTokenService.findByToken("token");
         assertTrue(result.isPresent());
     }
 
     @Test
-    void createRefreshToken_ShouldUpsertToken() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findByUser(user)).thenReturn(Optional.empty());
-        when(refreshTokenRepository.saveAndFlush(any(RefreshToken.class))).thenReturn(refreshToken);
+    void createRefreshToken_ShouldRotateWithConfiguredExpiry() {
+        when(refreshTokenStore.rotate(eq(1L), eq("testuser"), any(Instant.class))).thenReturn(refreshToken);
 
-        RefreshToken result = refreshTokenService.createRefreshToken(1L);
+        RefreshToken result = refreshTokenService.createRefreshToken(1L, "testuser");
 
         assertNotNull(result);
-        verify(refreshTokenRepository).saveAndFlush(any(RefreshToken.class));
+        verify(refreshTokenStore).rotate(eq(1L), eq("testuser"),
+                argThat(expiry -> expiry.isAfter(Instant.now().plusMillis(590000))));
     }
 
     @Test
@@ -74,6 +68,6 @@ class RefreshTokenServiceTest {
     void verifyExpiration_WhenExpired_ShouldThrowException() {
         refreshToken.setExpiryDate(Instant.now().minusMillis(1000));
         assertThrows(RuntimeException.class, () -> refreshTokenService.verifyExpiration(refreshToken));
-        verify(refreshTokenRepository).delete(refreshToken);
+        verify(refreshTokenStore).delete(refreshToken);
     }
 }
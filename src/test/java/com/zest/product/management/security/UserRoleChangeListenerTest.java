@@ -0,0 +1,73 @@
+package com.zest.product.management.security;
+
+import com.zest.product.management.entity.Role;
+import com.zest.product.management.entity.User;
+import com.zest.product.management.repository.RoleRepository;
+import com.zest.product.management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the cached entry is evicted after the role change commits
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRoleChangeListenerTest {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Role userRole;
+    private Role adminRole;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByName(Role.RoleName.ROLE_USER)
+                .orElseGet(() -> roleRepository.save(new Role(null, Role.RoleName.ROLE_USER)));
+        adminRole = roleRepository.findByName(Role.RoleName.ROLE_ADMIN)
+                .orElseGet(() -> roleRepository.save(new Role(null, Role.RoleName.ROLE_ADMIN)));
+        userRepository.save(User.builder().username("role_change").email("role_change@example.com")
+                .password("hash").roles(new HashSet<>(Set.of(userRole))).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("role_change").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void roleChange_ShouldEvictCachedUserDetails() {
+        assertEquals(Set.of("ROLE_USER"), authorities());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.findByUsername("role_change").orElseThrow().getRoles().add(adminRole));
+
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), authorities());
+    }
+
+    private Set<String> authorities() {
+        return userDetailsService.loadUserByUsername("role_change").getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
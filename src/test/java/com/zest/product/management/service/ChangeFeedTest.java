@@ -0,0 +1,140 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ChangeEventDto;
+import com.zest.product.management.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    private ChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new ChangeFeed(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(changeFeed, "bufferSize", 8);
+        ReflectionTestUtils.setField(changeFeed, "maxSubscribers", 2);
+        ReflectionTestUtils.setField(changeFeed, "timeoutMs", 60000L);
+        changeFeed.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedEventsThenStreamLive() throws Exception {
+        long first = changeFeed.publish("product", ChangeType.CREATED, 1L, null, 0L).sequence();
+        changeFeed.publish("product", ChangeType.UPDATED, 1L, null, 1L);
+        changeFeed.publish("item", ChangeType.CREATED, 1L, 5L, 0L);
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        changeFeed.subscribe(first, emitter);
+        long live = changeFeed.publish("product", ChangeType.DELETED, 1L, null, null).sequence();
+
+        await(() -> emitter.sent.size() == 3);
+        assertEquals(List.of(first + 1, first + 2, live), emitter.sent);
+    }
+
+    @Test
+    void subscribe_WithEvictedLastEventId_ShouldSendResetAndContinueLive() throws Exception {
+        long first = changeFeed.publish("product", ChangeType.CREATED, 1L, null, 0L).sequence();
+        for (int i = 0; i < 10; i++) {
+            changeFeed.publish("product", ChangeType.UPDATED, 1L, null, (long) i);
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        changeFeed.subscribe(first, emitter);
+        long live = changeFeed.publish("product", ChangeType.UPDATED, 1L, null, 10L).sequence();
+
+        await(() -> emitter.sent.size() == 2);
+        assertEquals(List.of(-(live - 1), live), emitter.sent);
+    }
+
+    @Test
+    void slowSubscriber_FallingBehindBuffer_ShouldBeResetAndDisconnected() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        changeFeed.subscribe(null, slow);
+        changeFeed.publish("product", ChangeType.CREATED, 1L, null, 0L);
+        await(() -> slow.blocked);
+
+        for (int i = 0; i < 20; i++) {
+            changeFeed.publish("product", ChangeType.UPDATED, 1L, null, (long) i);
+        }
+        unblock.countDown();
+
+        await(() -> changeFeed.subscriberCount() == 0);
+        assertTrue(slow.sent.get(slow.sent.size() - 1) < 0);
+        assertTrue(slow.completed);
+    }
+
+    @Test
+    void subscribe_OverLimit_ShouldReject() {
+        changeFeed.subscribe(null, new RecordingEmitter(null));
+        changeFeed.subscribe(null, new RecordingEmitter(null));
+
+        assertThrows(TooManyRequestsException.class, () -> changeFeed.subscribe(null, new RecordingEmitter(null)));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Records sent sequences; a reset is recorded as its negated sequence.
+     * With a latch, the first send blocks until it is released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Long> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch unblock;
+        private volatile boolean blocked;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (unblock != null && !blocked) {
+                blocked = true;
+                try {
+                    unblock.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof ChangeEventDto event) {
+                    sent.add(event.sequence());
+                } else if (part.getData() instanceof Map<?, ?> reset) {
+                    sent.add(-(Long) reset.get("sequence"));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ChangeEventDto;
+import com.zest.product.management.dto.CursorPage;
+import com.zest.product.management.dto.ItemDto;
+import com.zest.product.management.dto.ProductDto;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.repository.ChangeLogRepository;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: the change log is written just before commit
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeLogTest {
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        changeLog.assignSequences();
+        since = changeLogRepository.findMaxSeq().orElse(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        productRepository.deleteAll();
+        changeLogRepository.deleteAll();
+    }
+
+    @Test
+    void committedWrites_ShouldBeLoggedInOrderAndRolledBackWritesShouldNot() {
+        ProductDto created = productService.createProduct(product("Logged"));
+        productService.updateProduct(created.getId(), product("Logged renamed"));
+        ItemDto item = itemService.addItemToProduct(created.getId(), new ItemDto(null, null, 3, null));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.createProduct(product("Rolled back"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(3, changeLog.assignSequences());
+        CursorPage<ChangeEventDto> first = changeLog.getChanges(since, 2);
+        assertEquals(List.of("product:CREATED", "product:UPDATED"), describe(first));
+        assertEquals(1L, first.content().get(1).version());
+
+        CursorPage<ChangeEventDto> second = changeLog.getChanges(Long.parseLong(first.nextCursor()), 2);
+        assertEquals(List.of("item:CREATED"), describe(second));
+        assertEquals(item.getId(), second.content().get(0).itemId());
+        assertEquals(created.getId(), second.content().get(0).productId());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void compact_ShouldKeepOnlyTheLatestChangeOfEachEntity() {
+        ProductDto created = productService.createProduct(product("Compacted"));
+        productService.updateProduct(created.getId(), product("Compacted 1"));
+        productService.updateProduct(created.getId(), product("Compacted 2"));
+        itemService.addItemToProduct(created.getId(), new ItemDto(null, null, 1, null));
+        changeLog.assignSequences();
+
+        assertTrue(changeLog.compact() >= 2);
+
+        CursorPage<ChangeEventDto> changes = changeLog.getChanges(since, 100);
+        assertEquals(List.of("product:UPDATED", "item:CREATED"), describe(changes));
+        assertEquals(2L, changes.content().get(0).version());
+    }
+
+    @Test
+    void compact_InSmallBatches_ShouldResumeAfterEachBatch() {
+        ProductDto first = productService.createProduct(product("Batched A"));
+        ProductDto second = productService.createProduct(product("Batched B"));
+        for (int i = 1; i <= 4; i++) {
+            productService.updateProduct(first.getId(), product("Batched A" + i));
+        }
+        productService.updateProduct(second.getId(), product("Batched B1"));
+        changeLog.assignSequences();
+
+        ReflectionTestUtils.setField(changeLog, "batchSize", 2);
+        try {
+            assertTrue(changeLog.compact() >= 5);
+        } finally {
+            ReflectionTestUtils.setField(changeLog, "batchSize", 1000);
+        }
+
+        CursorPage<ChangeEventDto> changes = changeLog.getChanges(since, 100);
+        assertEquals(List.of("product:UPDATED", "product:UPDATED"), describe(changes));
+        assertEquals(4L, changes.content().get(0).version());
+    }
+
+    @Test
+    void getChanges_WithInvalidArguments_ShouldReject() {
+        assertThrows(BadRequestException.class, () -> changeLog.getChanges(-1, 10));
+        assertThrows(BadRequestException.class, () -> changeLog.getChanges(0, 0));
+    }
+
+    private static ProductDto product(String name) {
+        ProductDto dto = new ProductDto();
+        dto.setProductName(name);
+        return dto;
+    }
+
+    private static List<String> describe(CursorPage<ChangeEventDto> page) {
+        return page.content().stream().map(change -> change.entity() + ":" + change.type()).toList();
+    }
+}
@@ -0,0 +1,166 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ExportJobDto;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.exception.TooManyRequestsException;
+import com.zest.product.management.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    @Mock
+    private ProductExportService productExportService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @TempDir
+    Path spoolDir;
+
+    private ExportJobService exportJobService;
+
+    @BeforeEach
+    void setUp() {
+        exportJobService = new ExportJobService(productExportService, productRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(exportJobService, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(exportJobService, "threads", 2);
+        ReflectionTestUtils.setField(exportJobService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(exportJobService, "maxJobsPerUser", 1);
+        ReflectionTestUtils.setField(exportJobService, "ttlMs", 3600000L);
+        exportJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldWriteCompressedResultAndReportProgress() throws Exception {
+        when(productRepository.count()).thenReturn(2L);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            LongConsumer progress = invocation.getArgument(2);
+            out.write("a\nb\n".getBytes(StandardCharsets.UTF_8));
+            progress.accept(1);
+            progress.accept(2);
+            return 2L;
+        }).when(productExportService).export(eq(ExportFormat.CSV), any(OutputStream.class), any(LongConsumer.class));
+
+        ExportJobDto job = exportJobService.submit("alice", ExportFormat.CSV);
+        ExportJobDto done = awaitStatus("alice", job.id(), "COMPLETED");
+
+        assertEquals(2, done.rowsWritten());
+        assertEquals(100, done.percentComplete());
+        Path result = exportJobService.getResultFile("alice", job.id());
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(result))) {
+            assertEquals("a\nb\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getJob("bob", job.id()));
+    }
+
+    @Test
+    void submit_OverPerUserLimit_ShouldReject() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 0L;
+        }).when(productExportService).export(any(), any(OutputStream.class), any(LongConsumer.class));
+
+        ExportJobDto first = exportJobService.submit("alice", ExportFormat.CSV);
+
+        assertThrows(TooManyRequestsException.class, () -> exportJobService.submit("alice", ExportFormat.NDJSON));
+        assertThrows(ConflictException.class, () -> exportJobService.getResultFile("alice", first.id()));
+        ExportJobDto other = exportJobService.submit("bob", ExportFormat.CSV);
+
+        release.countDown();
+        awaitStatus("alice", first.id(), "COMPLETED");
+        awaitStatus("bob", other.id(), "COMPLETED");
+        assertNotNull(exportJobService.submit("alice", ExportFormat.CSV));
+    }
+
+    @Test
+    void submit_WhenExportThrowsError_ShouldFailJobWithGenericMessageAndFreeSlot() throws Exception {
+        doAnswer(invocation -> {
+            throw new OutOfMemoryError("Java heap space at /var/lib/zest/spool");
+        }).when(productExportService).export(any(), any(OutputStream.class), any(LongConsumer.class));
+
+        ExportJobDto job = exportJobService.submit("alice", ExportFormat.CSV);
+        ExportJobDto failed = awaitStatus("alice", job.id(), "FAILED");
+
+        assertEquals("Export failed. Please retry later.", failed.error());
+        assertNotNull(exportJobService.submit("alice", ExportFormat.CSV));
+    }
+
+    @Test
+    void cancel_RunningJob_ShouldStopExportAndRemovePartialFile() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            LongConsumer progress = invocation.getArgument(2);
+            started.countDown();
+            for (long rows = 1; ; rows++) {
+                progress.accept(rows);
+                Thread.sleep(1);
+            }
+        }).when(productExportService).export(any(), any(OutputStream.class), any(LongConsumer.class));
+
+        ExportJobDto job = exportJobService.submit("alice", ExportFormat.CSV);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        exportJobService.cancel("alice", job.id());
+
+        awaitStatus("alice", job.id(), "CANCELLED");
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+        assertNotNull(exportJobService.submit("alice", ExportFormat.CSV));
+    }
+
+    @Test
+    void removeExpiredJobs_ShouldDeleteFinishedJobsAndFiles() throws Exception {
+        ExportJobDto job = exportJobService.submit("alice", ExportFormat.CSV);
+        awaitStatus("alice", job.id(), "COMPLETED");
+        Path result = exportJobService.getResultFile("alice", job.id());
+        ReflectionTestUtils.setField(exportJobService, "ttlMs", -1000L);
+
+        exportJobService.removeExpiredJobs();
+
+        assertFalse(Files.exists(result));
+        assertThrows(ResourceNotFoundException.class, () -> exportJobService.getJob("alice", job.id()));
+    }
+
+    private ExportJobDto awaitStatus(String owner, String id, String status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ExportJobDto job = exportJobService.getJob(owner, id);
+        while (!status.equals(job.status()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = exportJobService.getJob(owner, id);
+        }
+        assertEquals(status, job.status());
+        return job;
+    }
+}
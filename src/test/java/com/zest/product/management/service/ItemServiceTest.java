@@ -1,21 +1,25 @@
 package com.zest.product.management.service;
 
+import com.zest.product.management.dto.CursorPage;
 import com.zest.product.management.dto.ItemDto;
 import com.zest.product.management.entity.Item;
 import com.zest.product.management.entity.Product;
 import com.zest.product.management.mapper.ItemMapper;
 import com.zest.product.management.repository.ItemRepository;
 import com.zest.product.management.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +37,15 @@ class ItemServiceTest {
     @Mock
     private ItemMapper itemMapper;
 
+    @Mock
+    private ChangeLog changeLog;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(new SimpleMeterRegistry());
+
+    @Spy
+    private ProductQueryGuard productQueryGuard = new ProductQueryGuard(new SimpleMeterRegistry());
+
     @InjectMocks
     private ItemService itemService;
 
@@ -47,29 +60,51 @@ class ItemServiceTest {
         itemDto = new ItemDto();
         itemDto.setId(1L);
         itemDto.setQuantity(10);
+        ReflectionTestUtils.setField(productQueryGuard, "maxPageSize", 100);
     }
 
     @Test
     void getItemsByProductId_WhenProductExists_ShouldReturnList() {
-        when(productRepository.existsById(1L)).thenReturn(true);
-        when(itemRepository.findByProductId(1L)).thenReturn(Collections.singletonList(item));
-        when(itemMapper.toDto(any(Item.class))).thenReturn(itemDto);
+        when(itemRepository.findItemRowsByProductId(1L, 0L, Limit.unlimited()))
+                .thenReturn(Collections.singletonList(itemDto));
 
         List<ItemDto> result = itemService.getItemsByProductId(1L);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getItemsByProductId_WhenProductHasNoItems_ShouldReturnEmptyList() {
+        when(itemRepository.findItemRowsByProductId(1L, 0L, Limit.unlimited()))
+                .thenReturn(List.of(new ItemDto(null, 1L, null, null)));
+
+        assertTrue(itemService.getItemsByProductId(1L).isEmpty());
     }
 
     @Test
     void getItemsByProductId_WhenProductNotFound_ShouldThrowException() {
-        when(productRepository.existsById(99L)).thenReturn(false);
+        when(itemRepository.findItemRowsByProductId(99L, 0L, Limit.unlimited())).thenReturn(List.of());
         assertThrows(RuntimeException.class, () -> itemService.getItemsByProductId(99L));
     }
 
+    @Test
+    void scrollItemsByProductId_ShouldReturnCursorOfLastItemWhenMoreRowsExist() {
+        List<ItemDto> rows = List.of(new ItemDto(11L, 1L, 1, 0L), new ItemDto(12L, 1L, 2, 0L),
+                new ItemDto(13L, 1L, 3, 0L));
+        when(itemRepository.findItemRowsByProductId(1L, 10L, Limit.of(3))).thenReturn(rows);
+
+        CursorPage<ItemDto> page = itemService.scrollItemsByProductId(1L, 10L, 2);
+
+        assertEquals(2, page.size());
+        assertEquals("12", page.nextCursor());
+    }
+
     @Test
     void addItemToProduct_ShouldSaveItem() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.addToTotalQuantity(1L, 10)).thenReturn(1);
+        when(productRepository.getReferenceById(1L)).thenReturn(product);
         when(itemMapper.toEntity(any(ItemDto.class))).thenReturn(item);
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(itemMapper.toDto(any(Item.class))).thenReturn(itemDto);
@@ -78,5 +113,14 @@ class ItemServiceTest {
 
         assertNotNull(result);
         verify(itemRepository).save(any(Item.class));
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void addItemToProduct_WhenProductNotFound_ShouldNotSaveItem() {
+        when(productRepository.addToTotalQuantity(99L, 10)).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> itemService.addItemToProduct(99L, itemDto));
+        verify(itemRepository, never()).save(any(Item.class));
     }
 }
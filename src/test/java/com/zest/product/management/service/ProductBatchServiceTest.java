@@ -0,0 +1,119 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ProductBatchRequest;
+import com.zest.product.management.dto.ProductBatchRequest.Operation;
+import com.zest.product.management.dto.ProductBatchRequest.Type;
+import com.zest.product.management.dto.ProductBatchResult;
+import com.zest.product.management.entity.Item;
+import com.zest.product.management.entity.Product;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductBatchServiceTest {
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Product keep;
+    private Product remove;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        productRepository.deleteAll();
+        keep = productRepository.save(Product.builder().productName("Keep").build());
+        remove = productRepository.save(Product.builder().productName("Remove").build());
+        itemRepository.save(Item.builder().product(remove).quantity(4).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void execute_ShouldApplyMixedOperationsAndReportEachResult() {
+        List<ProductBatchResult> results = productBatchService.execute(new ProductBatchRequest(List.of(
+                new Operation(Type.CREATE, null, "Fresh", null),
+                new Operation(Type.CREATE, null, "Keep", null),
+                new Operation(Type.UPDATE, keep.getId(), "Kept", 0L),
+                new Operation(Type.DELETE, remove.getId(), null, null),
+                new Operation(Type.DELETE, 999_999L, null, null),
+                new Operation(Type.UPDATE, null, "No id", null),
+                new Operation(Type.CREATE, null, "Remove", null))));
+        entityManager.clear();
+
+        assertEquals(List.of("CREATED", "NAME_CONFLICT", "UPDATED", "DELETED", "NOT_FOUND", "INVALID", "CREATED"),
+                results.stream().map(ProductBatchResult::status).toList());
+        assertEquals(1L, results.get(2).version());
+        assertEquals("Kept", productRepository.findById(keep.getId()).orElseThrow().getProductName());
+        assertEquals(1L, productRepository.findById(keep.getId()).orElseThrow().getVersion());
+        assertFalse(productRepository.existsById(remove.getId()));
+        assertTrue(itemRepository.findByProductId(remove.getId()).isEmpty());
+        assertEquals(results.get(0).id(), productRepository.findByProductName("Fresh").orElseThrow().getId());
+        assertEquals(results.get(6).id(), productRepository.findByProductName("Remove").orElseThrow().getId());
+    }
+
+    @Test
+    void execute_WithCaseVariantNames_ShouldReportNameConflictsWithoutFailingTheChunk() {
+        // The test database compares names case-insensitively, like the MySQL collation
+        List<ProductBatchResult> results = productBatchService.execute(new ProductBatchRequest(List.of(
+                new Operation(Type.CREATE, null, "KEEP", null),
+                new Operation(Type.CREATE, null, "Gadget", null),
+                new Operation(Type.CREATE, null, "gadget", null),
+                new Operation(Type.UPDATE, keep.getId(), "keep", 0L))));
+        entityManager.clear();
+
+        assertEquals(List.of("NAME_CONFLICT", "CREATED", "NAME_CONFLICT", "UPDATED"),
+                results.stream().map(ProductBatchResult::status).toList());
+        assertEquals(results.get(1).id(), productRepository.findByProductName("Gadget").orElseThrow().getId());
+        assertEquals("keep", productRepository.findById(keep.getId()).orElseThrow().getProductName());
+    }
+
+    @Test
+    void execute_WithStaleVersion_ShouldReportConflictAndLeaveRowUnchanged() {
+        List<ProductBatchResult> results = productBatchService.execute(new ProductBatchRequest(List.of(
+                new Operation(Type.UPDATE, keep.getId(), "Stale", 5L),
+                new Operation(Type.DELETE, keep.getId(), null, null))));
+        entityManager.clear();
+
+        assertEquals("VERSION_CONFLICT", results.get(0).status());
+        assertEquals(0L, results.get(0).version());
+        assertEquals("INVALID", results.get(1).status());
+        assertEquals("Keep", productRepository.findById(keep.getId()).orElseThrow().getProductName());
+    }
+
+    @Test
+    void execute_OverOperationLimit_ShouldReject() {
+        ReflectionTestUtils.setField(productBatchService, "maxOperations", 1);
+        try {
+            assertThrows(BadRequestException.class, () -> productBatchService.execute(new ProductBatchRequest(
+                    Collections.nCopies(2, new Operation(Type.CREATE, null, "Too many", null)))));
+        } finally {
+            ReflectionTestUtils.setField(productBatchService, "maxOperations", 1000);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ProductDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCache productCache;
+    private AtomicInteger loads;
+    private Function<Long, ProductDto> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCache = new ProductCache(meterRegistry);
+        ReflectionTestUtils.setField(productCache, "enabled", true);
+        ReflectionTestUtils.setField(productCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(productCache, "ttlMs", 60000L);
+        productCache.init();
+
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return product(id, "Loaded " + id);
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndReportHitRatio() {
+        productCache.get(1L, loader);
+        productCache.get(1L, loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(0.5, meterRegistry.get("products.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void evictAfterCommit_ShouldWaitForCommit() {
+        productCache.get(1L, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCache.evictAfterCommit(1L);
+        productCache.get(1L, loader);
+        assertEquals(1, loads.get(), "eviction must not happen before commit");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        productCache.get(1L, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void putAfterCommit_WhenRolledBack_ShouldNotPopulate() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCache.putAfterCommit(product(2L, "Uncommitted"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals("Loaded 2", productCache.get(2L, loader).getProductName());
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysLoad() {
+        ProductCache disabled = new ProductCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.init();
+
+        disabled.get(1L, loader);
+        disabled.get(1L, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static ProductDto product(Long id, String name) {
+        ProductDto dto = new ProductDto();
+        dto.setId(id);
+        dto.setProductName(name);
+        return dto;
+    }
+}
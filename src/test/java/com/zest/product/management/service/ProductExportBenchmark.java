@@ -0,0 +1,105 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.ProductManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput benchmark for the streaming product export against a synthetic
+ * catalog in the in-memory test database (0-3 items per product).
+ * Reports products/s, output MB/s and how far the heap grew above its
+ * post-GC baseline during each export. Embedded H2 buffers the sorted result
+ * in the same heap, so that figure is an upper bound here; against MySQL with
+ * useCursorFetch the cursor is held by the server.
+ * Not a unit test; run the main method from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...ProductExportBenchmark [products]}.
+ */
+public class ProductExportBenchmark {
+
+    private static final int INSERT_BATCH = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+        System.setProperty("spring.profiles.active", "test");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run()) {
+            long items = populate(context.getBean(JdbcTemplate.class), productCount);
+            System.out.printf("Synthetic catalog: %d products, %d items%n", productCount, items);
+
+            ProductExportService exportService = context.getBean(ProductExportService.class);
+            exportService.export(ExportFormat.CSV, OutputStream.nullOutputStream()); // warm-up
+            for (ExportFormat format : ExportFormat.values()) {
+                run(exportService, format);
+            }
+        }
+    }
+
+    private static long populate(JdbcTemplate jdbcTemplate, int productCount) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long itemId = 1_000_000_000L;
+        long items = 0;
+        for (int start = 0; start < productCount; start += INSERT_BATCH) {
+            List<Object[]> productRows = new ArrayList<>();
+            List<Object[]> itemRows = new ArrayList<>();
+            for (int i = start; i < Math.min(start + INSERT_BATCH, productCount); i++) {
+                long productId = 1_000_000_000L + i;
+                productRows.add(new Object[] { productId, "Benchmark product " + i, "bench", now, 0L });
+                for (int j = 0; j < i % 4; j++) {
+                    itemRows.add(new Object[] { itemId++, productId, j + 1, 0L });
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO product (id, product_name, created_by, created_on, version) "
+                    + "VALUES (?, ?, ?, ?, ?)", productRows);
+            jdbcTemplate.batchUpdate("INSERT INTO item (id, product_id, quantity, version) VALUES (?, ?, ?, ?)",
+                    itemRows);
+            items += itemRows.size();
+        }
+        return items;
+    }
+
+    private static void run(ProductExportService exportService, ExportFormat format) throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        long baseline = heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        long products = exportService.export(format, out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.out.printf("%-7s %,12d products %8.2f s %,12.0f products/s %8.1f MB/s  heap growth %,6d MB%n",
+                format, products, seconds, products / seconds, out.bytes / seconds / 1e6,
+                Math.max(peakHeap - baseline, 0) >> 20);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
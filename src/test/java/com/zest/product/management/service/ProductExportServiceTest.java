@@ -0,0 +1,80 @@
+package com.zest.product.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zest.product.management.entity.Item;
+import com.zest.product.management.entity.Product;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        productRepository.deleteAll();
+        Product withItems = productRepository.save(Product.builder().productName("Widget, \"Deluxe\"").build());
+        itemRepository.save(Item.builder().product(withItems).quantity(3).build());
+        itemRepository.save(Item.builder().product(withItems).quantity(7).build());
+        productRepository.save(Product.builder().productName("Empty").build());
+        productRepository.flush();
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteOneLinePerItemAndEscapeText() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long products = productExportService.export(ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, products);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("product_id,product_name"));
+        assertTrue(lines.get(1).contains(",\"Widget, \"\"Deluxe\"\"\","));
+        assertTrue(lines.get(3).contains(",Empty,"));
+        assertTrue(lines.get(3).endsWith(",0,,,"));
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneObjectPerProduct() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long products = productExportService.export(ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, products);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("Widget, \"Deluxe\"", first.get("productName").asText());
+        assertEquals(2, first.get("items").size());
+        assertEquals(3, first.get("items").get(0).get("quantity").asInt());
+        assertEquals(0, objectMapper.readTree(lines.get(1)).get("items").size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ImportReport;
+import com.zest.product.management.entity.Product;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        productRepository.deleteAll();
+        productRepository.saveAndFlush(Product.builder().productName("Existing").build());
+        ReflectionTestUtils.setField(productImportService, "batchSize", 2);
+    }
+
+    @Test
+    void importProducts_FromCsv_ShouldImportValidRowsAndReportInvalidOnes() throws Exception {
+        String csv = """
+                product_name,item_quantity
+                Bolt,5
+                Bolt,7
+                "Nut, ""hex""
+                M8",3
+                ,4
+                Washer,-1
+                Existing,2
+                Screw,abc
+                Spring,
+                """;
+
+        ImportReport report = productImportService.importProducts(ExportFormat.CSV, stream(csv));
+
+        assertEquals(8, report.rowsRead());
+        assertEquals(5, report.rowsImported());
+        assertEquals(3, report.rowsFailed());
+        assertEquals(3, report.productsCreated());
+        assertEquals(4, report.itemsCreated());
+        assertEquals(6, report.errors().get(0).line());
+        assertEquals("Product name is required", report.errors().get(0).message());
+        assertEquals(7, report.errors().get(1).line());
+        assertEquals(9, report.errors().get(2).line());
+
+        Product bolt = productRepository.findByProductName("Bolt").orElseThrow();
+        assertEquals(2, itemRepository.findByProductId(bolt.getId()).size());
+        assertEquals(12L, bolt.getTotalQuantity());
+        assertEquals("SYSTEM", bolt.getCreatedBy());
+        assertTrue(productRepository.findByProductName("Nut, \"hex\"\nM8").isPresent());
+        Product existing = productRepository.findByProductName("Existing").orElseThrow();
+        assertEquals(1, itemRepository.findByProductId(existing.getId()).size());
+    }
+
+    @Test
+    void importProducts_WithCaseVariantNames_ShouldMatchLikeTheUniqueIndex() throws Exception {
+        // The test database compares names case-insensitively, like the MySQL collation
+        String csv = """
+                product_name,item_quantity
+                Widget,1
+                WIDGET,2
+                existing,4
+                """;
+
+        ImportReport report = productImportService.importProducts(ExportFormat.CSV, stream(csv));
+
+        assertEquals(3, report.rowsImported());
+        assertEquals(0, report.rowsFailed());
+        assertEquals(1, report.productsCreated());
+        assertEquals(1, report.productsMatched());
+        assertEquals(2, productRepository.count());
+        Product widget = productRepository.findByProductName("Widget").orElseThrow();
+        assertEquals(3L, widget.getTotalQuantity());
+        Product existing = productRepository.findByProductName("Existing").orElseThrow();
+        assertEquals(4, itemRepository.findByProductId(existing.getId()).get(0).getQuantity());
+    }
+
+    @Test
+    void importProducts_FromNdjson_ShouldImportProductsWithItems() throws Exception {
+        String ndjson = """
+                {"productName":"Gear","items":[{"quantity":1},{"quantity":2}]}
+                {"productName":"Broken","items":[{"quantity":0}]}
+                not json
+
+                {"productName":"Chain"}
+                """;
+
+        ImportReport report = productImportService.importProducts(ExportFormat.NDJSON, stream(ndjson));
+
+        assertEquals(4, report.rowsRead());
+        assertEquals(2, report.rowsImported());
+        assertEquals(2, report.productsCreated());
+        assertEquals(2, report.itemsCreated());
+        assertEquals(2, report.errors().get(0).line());
+        assertEquals(3, report.errors().get(1).line());
+        assertTrue(productRepository.findByProductName("Chain").isPresent());
+        assertFalse(productRepository.findByProductName("Broken").isPresent());
+    }
+
+    @Test
+    void importProducts_WithoutProductNameColumn_ShouldReject() {
+        assertThrows(BadRequestException.class,
+                () -> productImportService.importProducts(ExportFormat.CSV, stream("name,quantity\nBolt,1\n")));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
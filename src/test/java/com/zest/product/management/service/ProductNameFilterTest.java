@@ -0,0 +1,76 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductNameFilterTest {
+
+    private ProductRepository productRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductNameFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ProductNameFilter(productRepository, mock(PlatformTransactionManager.class), meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "expectedNames", 10_000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.01);
+        filter.init();
+    }
+
+    @Test
+    void mightContain_BeforeFirstBuild_ShouldAssumeEveryNameExists() {
+        assertTrue(filter.mightContain("Anything"));
+        assertEquals(0.0, meterRegistry.get("products.name.filter.skipped").counter().count());
+    }
+
+    @Test
+    void rebuild_ShouldLoadExistingNamesAndKeepFalsePositivesRare() {
+        when(productRepository.count()).thenReturn(5_000L);
+        when(productRepository.streamProductNames())
+                .thenReturn(IntStream.range(0, 5_000).mapToObj(i -> "Product " + i));
+
+        filter.rebuild();
+
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.mightContain("Product " + i));
+        }
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> filter.mightContain("Other " + i)).count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertEquals(10_000 - falsePositives, meterRegistry.get("products.name.filter.skipped").counter().count());
+    }
+
+    @Test
+    void add_ShouldMatchIgnoringCaseAndTrailingSpaces() {
+        when(productRepository.streamProductNames()).thenReturn(Stream.empty());
+        filter.rebuild();
+        assertFalse(filter.mightContain("Widget"));
+
+        filter.add("Widget");
+
+        assertTrue(filter.mightContain("Widget"));
+        assertTrue(filter.mightContain("WIDGET  "));
+    }
+
+    @Test
+    void rebuild_WhenDisabled_ShouldNeverSkipTheCheck() {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain("Never seen"));
+        verifyNoInteractions(productRepository);
+    }
+}
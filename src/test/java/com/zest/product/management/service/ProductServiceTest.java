@@ -1,24 +1,43 @@
 package com.zest.product.management.service;
 
 import com.zest.product.management.dto.ProductDto;
+import com.zest.product.management.dto.ProductLookup;
+import com.zest.product.management.dto.ProductPatchRequest;
 import com.zest.product.management.entity.Product;
+import com.zest.product.management.exception.BadRequestException;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.PreconditionFailedException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.mapper.ItemMapper;
 import com.zest.product.management.mapper.ProductMapper;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductBulkRepository;
 import com.zest.product.management.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +49,30 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private ProductBulkRepository productBulkRepository;
+
+    @Mock
+    private ChangeLog changeLog;
+
+    @Mock
+    private AuditorAware<String> auditorAware;
+
+    @Mock
+    private ProductNameFilter productNameFilter;
+
+    @Spy
+    private ProductQueryGuard productQueryGuard = new ProductQueryGuard(new SimpleMeterRegistry());
+
+    @Spy
+    private ProductCache productCache = new ProductCache(new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductService productService;
 
@@ -38,7 +81,9 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
-        product = Product.builder().id(1L).productName("Test Product").build();
+        ReflectionTestUtils.setField(productQueryGuard, "maxPageSize", 100);
+        ReflectionTestUtils.setField(productService, "multiGetMaxIds", 3);
+        product = Product.builder().id(1L).productName("Test Product").version(3L).build();
         productDto = new ProductDto();
         productDto.setId(1L);
         productDto.setProductName("Test Product");
@@ -49,14 +94,57 @@ class ProductServiceTest {
         PageRequest pageRequest = PageRequest.of(0, 10);
         Page<Product> productPage = new PageImpl<>(Collections.singletonList(product));
 
-        when(productRepository.findAll(pageRequest)).thenReturn(productPage);
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
         when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
         Page<ProductDto> result = productService.getAllProducts(pageRequest);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(productRepository, times(1)).findAll(pageRequest);
+        verify(productRepository, times(1)).findAll(PageRequest.of(0, 10, Sort.by("id")));
+    }
+
+    @Test
+    void getProductsByIds_ShouldQueryOnceAndKeepRequestOrder() {
+        Product other = Product.builder().id(2L).productName("Other").version(0L).build();
+        ProductDto otherDto = new ProductDto();
+        otherDto.setId(2L);
+        when(productRepository.findAllById(List.of(2L, 9L, 1L))).thenReturn(List.of(product, other));
+        when(productMapper.toDto(product)).thenReturn(productDto);
+        when(productMapper.toDto(other)).thenReturn(otherDto);
+
+        List<ProductLookup> result = productService.getProductsByIds(List.of(2L, 9L, 1L), false);
+
+        assertEquals(List.of(2L, 9L, 1L), result.stream().map(ProductLookup::id).toList());
+        assertSame(otherDto, result.get(0).product());
+        assertFalse(result.get(1).found());
+        assertNull(result.get(1).product());
+        assertSame(productDto, result.get(2).product());
+        verify(productRepository, times(1)).findAllById(any());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getProductsByIds_WithTooManyIds_ShouldThrow() {
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductsByIds(List.of(1L, 2L, 3L, 4L), false));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getAllProducts_WithOversizedPage_ShouldClampSize() {
+        when(productRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        productService.getAllProducts(PageRequest.of(0, 100000, Sort.by("product_name")));
+
+        verify(productRepository).findAll(PageRequest.of(0, 100, Sort.by("productName", "id")));
+    }
+
+    @Test
+    void getAllProducts_WithUnindexedSort_ShouldReject() {
+        assertThrows(BadRequestException.class,
+                () -> productService.getAllProducts(PageRequest.of(0, 10, Sort.by("createdBy"))));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -71,22 +159,39 @@ class ProductServiceTest {
 
     @Test
     void createProduct_WithUniqueName_ShouldSaveProduct() {
-        when(productRepository.existsByProductName(anyString())).thenReturn(false);
+        when(productNameFilter.mightContain("Test Product")).thenReturn(false);
         when(productMapper.toEntity(any(ProductDto.class))).thenReturn(product);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
         when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
         ProductDto result = productService.createProduct(productDto);
 
         assertNotNull(result);
         assertEquals("Test Product", result.getProductName());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, never()).existsByProductName(anyString());
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
+        verify(productNameFilter).add("Test Product");
+        verify(changeLog).productChanged(ChangeType.CREATED, productDto.getId(), productDto.getVersion());
     }
 
     @Test
-    void createProduct_WithDuplicateName_ShouldThrowException() {
-        when(productRepository.existsByProductName(anyString())).thenReturn(true);
-        assertThrows(RuntimeException.class, () -> productService.createProduct(productDto));
+    void createProduct_WithDuplicateName_ShouldThrowConflict() {
+        when(productNameFilter.mightContain("Test Product")).thenReturn(true);
+        when(productRepository.existsByProductName("Test Product")).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> productService.createProduct(productDto));
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void createProduct_WhenInsertViolatesUniqueName_ShouldThrowConflict() {
+        when(productNameFilter.mightContain("Test Product")).thenReturn(false);
+        when(productMapper.toEntity(any(ProductDto.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        assertThrows(ConflictException.class, () -> productService.createProduct(productDto));
+        verify(changeLog, never()).productChanged(any(), any(), any());
     }
 
     @Test
@@ -98,21 +203,90 @@ class ProductServiceTest {
     @Test
     void updateProduct_WhenFound_ShouldUpdate() {
         when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
         when(productMapper.toDto(any(Product.class))).thenReturn(productDto);
 
         ProductDto result = productService.updateProduct(1L, productDto);
 
         assertNotNull(result);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void updateProduct_WithStaleVersion_ShouldFailPrecondition() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertThrows(PreconditionFailedException.class, () -> productService.updateProduct(1L, productDto, 2L));
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void deleteProduct_WithStaleVersion_ShouldFailPrecondition() {
+        when(productBulkRepository.lockVersionsByIds(List.of(1L))).thenReturn(Map.of(1L, 3L));
+
+        assertThrows(PreconditionFailedException.class, () -> productService.deleteProduct(1L, 2L));
+        verify(productBulkRepository, never()).deleteProductsWithItems(any());
+    }
+
+    @Test
+    void deleteProduct_WhenMissing_ShouldThrowNotFound() {
+        when(productBulkRepository.deleteProductsWithItems(List.of(99L))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(99L, null));
+        verify(changeLog, never()).productChanged(any(), any(), any());
+    }
+
+    @Test
+    void getProductVersion_ShouldNotLoadEntity() {
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertEquals(3L, productService.getProductVersion(1L));
+        verify(productRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteProduct_WhenFound_ShouldDelete() {
-        when(productRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(productRepository).deleteById(1L);
+        when(productBulkRepository.deleteProductsWithItems(List.of(1L))).thenReturn(1);
 
         assertDoesNotThrow(() -> productService.deleteProduct(1L));
-        verify(productRepository).deleteById(1L);
+        verify(productRepository, never()).findById(anyLong());
+        verify(changeLog).productChanged(ChangeType.DELETED, 1L, null);
+    }
+
+    @Test
+    void patchProduct_ShouldUpdateWithoutLoading() {
+        when(productRepository.patchProductNameAtVersion(eq(1L), eq(3L), eq("Renamed"), eq("SYSTEM"), any()))
+                .thenReturn(1);
+
+        assertEquals(4L, productService.patchProduct(1L, new ProductPatchRequest(" Renamed ", 3L), null));
+        verify(productRepository, never()).findById(anyLong());
+        verify(changeLog).productChanged(ChangeType.UPDATED, 1L, 4L);
+    }
+
+    @Test
+    void patchProduct_WithStaleBodyVersion_ShouldConflict() {
+        when(productRepository.patchProductNameAtVersion(eq(1L), eq(2L), eq("Renamed"), eq("SYSTEM"), any()))
+                .thenReturn(0);
+        when(productRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertThrows(ConflictException.class,
+                () -> productService.patchProduct(1L, new ProductPatchRequest("Renamed", 2L), null));
+        verify(changeLog, never()).productChanged(any(), any(), any());
+    }
+
+    @Test
+    void patchProduct_WhenMissing_ShouldThrowNotFound() {
+        when(productRepository.patchProductName(eq(99L), eq("Renamed"), eq("SYSTEM"), any())).thenReturn(0);
+        when(productRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> productService.patchProduct(99L, new ProductPatchRequest("Renamed", null), null));
+    }
+
+    @Test
+    void patchProduct_WithoutFields_ShouldReject() {
+        assertThrows(BadRequestException.class,
+                () -> productService.patchProduct(1L, new ProductPatchRequest(null, 3L), null));
+        verifyNoInteractions(productRepository);
     }
 }
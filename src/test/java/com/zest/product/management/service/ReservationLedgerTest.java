@@ -0,0 +1,118 @@
+package com.zest.product.management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationLedgerTest {
+
+    private static final long PRODUCT = 1L;
+    private static final long ITEM = 7L;
+
+    private final ReservationLedger ledger = new ReservationLedger();
+
+    @Test
+    void reserve_ConcurrentCallers_ShouldNeverHoldMoreThanStock() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        runConcurrently(16, () -> {
+            for (int i = 0; i < 50; i++) {
+                if (ledger.reserve(PRODUCT, ITEM, 1, () -> 100)) {
+                    granted.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(100, granted.get());
+        assertEquals(0, ledger.available(PRODUCT, ITEM));
+        assertEquals(100, ledger.reserved(PRODUCT, ITEM));
+    }
+
+    @Test
+    void mixedOperations_UnderContention_ShouldKeepAvailableNonNegativeAndBalanced() throws Exception {
+        long initialStock = 1_000;
+        // A permanent hold keeps the item tracked so the final stock can be checked
+        assertTrue(ledger.reserve(PRODUCT, ITEM, 1, () -> initialStock));
+        AtomicLong stockDelta = new AtomicLong();
+        AtomicInteger negativeSeen = new AtomicInteger();
+
+        runConcurrently(16, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Deque<Integer> held = new ArrayDeque<>();
+            for (int i = 0; i < 20_000; i++) {
+                int operation = random.nextInt(10);
+                if (operation < 5) {
+                    int quantity = random.nextInt(1, 6);
+                    if (ledger.reserve(PRODUCT, ITEM, quantity, () -> initialStock)) {
+                        held.push(quantity);
+                    }
+                } else if (operation < 7 && !held.isEmpty()) {
+                    ledger.release(PRODUCT, ITEM, held.pop());
+                } else if (operation < 8 && !held.isEmpty()) {
+                    int quantity = held.pop();
+                    ledger.commit(PRODUCT, ITEM, quantity);
+                    stockDelta.addAndGet(-quantity);
+                } else if (operation < 9) {
+                    int quantity = random.nextInt(1, 4);
+                    if (ledger.tryTake(PRODUCT, ITEM, quantity)) {
+                        stockDelta.addAndGet(-quantity);
+                    }
+                } else {
+                    int quantity = random.nextInt(1, 4);
+                    ledger.addStock(PRODUCT, ITEM, quantity);
+                    stockDelta.addAndGet(quantity);
+                }
+                if (ledger.available(PRODUCT, ITEM) < 0) {
+                    negativeSeen.incrementAndGet();
+                }
+            }
+            held.forEach(quantity -> ledger.release(PRODUCT, ITEM, quantity));
+        });
+
+        assertEquals(0, negativeSeen.get());
+        assertEquals(1, ledger.reserved(PRODUCT, ITEM));
+        assertEquals(initialStock + stockDelta.get() - 1, ledger.available(PRODUCT, ITEM));
+
+        ledger.release(PRODUCT, ITEM, 1);
+        assertEquals(-1, ledger.available(PRODUCT, ITEM));
+    }
+
+    @Test
+    void tryTake_ShouldNotTouchHeldQuantity() {
+        assertTrue(ledger.reserve(PRODUCT, ITEM, 8, () -> 10));
+
+        assertFalse(ledger.tryTake(PRODUCT, ITEM, 3));
+        assertTrue(ledger.tryTake(PRODUCT, ITEM, 2));
+        assertEquals(0, ledger.available(PRODUCT, ITEM));
+        assertTrue(ledger.tryTake(PRODUCT, 99L, 1_000));
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+}
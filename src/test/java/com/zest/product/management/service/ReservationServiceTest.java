@@ -0,0 +1,119 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.ReservationDto;
+import com.zest.product.management.dto.ReservationRequest;
+import com.zest.product.management.entity.Item;
+import com.zest.product.management.entity.Product;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.exception.TooManyRequestsException;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReservationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Product product;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder().productName("Reservable").totalQuantity(10L).build());
+        item = itemRepository.saveAndFlush(Item.builder().product(product).quantity(10).build());
+    }
+
+    @Test
+    void confirm_ShouldWriteStockOnlyOnConfirmation() {
+        ReservationDto first = reservationService.reserve("alice", request(6, null));
+        assertEquals("HELD", first.status());
+        assertThrows(ConflictException.class, () -> reservationService.reserve("bob", request(5, null)));
+        assertEquals(10, quantity());
+
+        ReservationDto confirmed = reservationService.confirm("alice", first.id());
+
+        assertEquals("CONFIRMED", confirmed.status());
+        assertEquals(4, quantity());
+        assertEquals(4L, productRepository.findById(product.getId()).orElseThrow().getTotalQuantity());
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.confirm("alice", first.id()));
+    }
+
+    @Test
+    void releaseAndExpiry_ShouldReturnHeldQuantity() {
+        ReservationDto released = reservationService.reserve("alice", request(10, null));
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.release("bob", released.id()));
+        assertThrows(ConflictException.class, () -> stockService.decrement(product.getId(), item.getId(), 1));
+        reservationService.release("alice", released.id());
+
+        ReservationDto expiring = reservationService.reserve("alice", request(10, 5));
+        assertEquals(0, reservationService.expireReservations(System.currentTimeMillis()));
+        assertEquals(1, reservationService.expireReservations(expiring.expiresAt().toEpochMilli() + 1000));
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.getReservation("alice", expiring.id()));
+
+        assertEquals("HELD", reservationService.reserve("bob", request(10, null)).status());
+        assertEquals(10, quantity());
+    }
+
+    @Test
+    void reserve_UnknownItem_ShouldReturnNotFound() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> reservationService.reserve("alice", new ReservationRequest(product.getId(), 999999L, 1, null)));
+    }
+
+    @Test
+    void reserve_OverPerUserLimits_ShouldBeRejectedForThatUserOnly() {
+        ReflectionTestUtils.setField(reservationService, "maxActivePerUser", 2);
+        ReflectionTestUtils.setField(reservationService, "maxQuantityPerUser", 5L);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThrows(ResourceNotFoundException.class, () -> reservationService.reserve("carol",
+                        new ReservationRequest(product.getId(), 999999L, 1, null)));
+            }
+            ReservationDto first = reservationService.reserve("carol", request(2, null));
+            ReservationDto second = reservationService.reserve("carol", request(2, null));
+            assertThrows(TooManyRequestsException.class, () -> reservationService.reserve("carol", request(1, null)));
+            ReservationDto other = reservationService.reserve("dave", request(1, null));
+
+            reservationService.release("carol", second.id());
+            assertThrows(TooManyRequestsException.class, () -> reservationService.reserve("carol", request(4, null)));
+            ReservationDto third = reservationService.reserve("carol", request(3, null));
+
+            reservationService.release("carol", first.id());
+            reservationService.release("carol", third.id());
+            reservationService.release("dave", other.id());
+        } finally {
+            ReflectionTestUtils.setField(reservationService, "maxActivePerUser", 20);
+            ReflectionTestUtils.setField(reservationService, "maxQuantityPerUser", 10000L);
+        }
+    }
+
+    private ReservationRequest request(int quantity, Integer ttlSeconds) {
+        return new ReservationRequest(product.getId(), item.getId(), quantity, ttlSeconds);
+    }
+
+    private int quantity() {
+        return itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow();
+    }
+}
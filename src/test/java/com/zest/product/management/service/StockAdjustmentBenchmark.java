@@ -0,0 +1,89 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.ProductManagementApplication;
+import com.zest.product.management.entity.Item;
+import com.zest.product.management.entity.Product;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Concurrency benchmark for stock increments of a single hot item in the
+ * in-memory test database: direct conditional UPDATEs versus coalesced
+ * increments flushed in batches. Each run checks that the final quantity and
+ * product total match the number of increments.
+ * Not a unit test; run the main method from the IDE or with
+ * {@code java -cp target/test-classes:target/classes:<deps> ...StockAdjustmentBenchmark [operations]}.
+ */
+public class StockAdjustmentBenchmark {
+
+    private static final int[] THREADS = { 1, 8, 32 };
+
+    public static void main(String[] args) throws Exception {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        System.setProperty("spring.profiles.active", "test");
+        System.setProperty("zest.app.stockFlushMs", "50");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run()) {
+            StockService stockService = context.getBean(StockService.class);
+            StockCoalescer stockCoalescer = context.getBean(StockCoalescer.class);
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            ItemRepository itemRepository = context.getBean(ItemRepository.class);
+
+            for (boolean coalescing : new boolean[] { false, true }) {
+                ReflectionTestUtils.setField(stockService, "coalescing", coalescing);
+                for (int threads : THREADS) {
+                    Product product = productRepository.save(Product.builder()
+                            .productName("Hot product " + coalescing + "-" + threads).totalQuantity(1L).build());
+                    Item item = itemRepository.save(Item.builder().product(product).quantity(1).build());
+
+                    double seconds = run(stockService, product.getId(), item.getId(), threads, operations);
+                    stockCoalescer.flush();
+
+                    long quantity = itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow();
+                    long total = productRepository.findById(product.getId()).orElseThrow().getTotalQuantity();
+                    System.out.printf("%-10s %3d threads %,10d ops %8.2f s %,12.0f ops/s  quantity %s%n",
+                            coalescing ? "coalesced" : "direct", threads, operations, seconds, operations / seconds,
+                            quantity == operations + 1 && total == quantity ? "ok" : "MISMATCH " + quantity + "/" + total);
+                }
+            }
+        }
+    }
+
+    private static double run(StockService stockService, long productId, long itemId, int threads,
+            int operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int share = operations / threads + (t < operations % threads ? 1 : 0);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < share; i++) {
+                    stockService.increment(productId, itemId, 1);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        executor.shutdown();
+        return seconds;
+    }
+}
@@ -0,0 +1,173 @@
+package com.zest.product.management.service;
+
+import com.zest.product.management.dto.StockAdjustmentDto;
+import com.zest.product.management.entity.Item;
+import com.zest.product.management.entity.Product;
+import com.zest.product.management.exception.ConflictException;
+import com.zest.product.management.exception.ResourceNotFoundException;
+import com.zest.product.management.repository.ItemRepository;
+import com.zest.product.management.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not transactional: concurrent adjustments need committed rows
+@SpringBootTest
+@ActiveProfiles("test")
+class StockServiceTest {
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockCoalescer stockCoalescer;
+
+    @Autowired
+    private ReservationLedger reservationLedger;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Product product;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder().productName("Stocked").totalQuantity(10L).build());
+        item = itemRepository.save(Item.builder().product(product).quantity(10).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(stockService, "coalescing", false);
+        itemRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void incrementAndDecrement_ShouldUpdateItemAndProductTotal() {
+        assertEquals(15, stockService.increment(product.getId(), item.getId(), 5).quantity());
+        assertEquals(3, stockService.decrement(product.getId(), item.getId(), 12).quantity());
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(3L, reloaded.getTotalQuantity());
+        assertEquals(product.getVersion() + 2, reloaded.getVersion());
+    }
+
+    @Test
+    void decrement_BelowZero_ShouldConflictAndChangeNothing() {
+        assertThrows(ConflictException.class, () -> stockService.decrement(product.getId(), item.getId(), 11));
+        assertThrows(ResourceNotFoundException.class, () -> stockService.decrement(product.getId(), 999999L, 1));
+
+        assertEquals(10, itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow());
+        assertEquals(10L, productRepository.findById(product.getId()).orElseThrow().getTotalQuantity());
+    }
+
+    @Test
+    void concurrentDecrements_ShouldNeverOversell() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    stockService.decrement(product.getId(), item.getId(), 1);
+                    sold.incrementAndGet();
+                } catch (ConflictException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(10, sold.get());
+        assertEquals(10, rejected.get());
+        assertEquals(0, itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow());
+        assertEquals(0L, productRepository.findById(product.getId()).orElseThrow().getTotalQuantity());
+    }
+
+    @Test
+    void increment_WhenCoalescing_ShouldApplySummedDeltaOnFlush() {
+        ReflectionTestUtils.setField(stockService, "coalescing", true);
+
+        for (int i = 0; i < 50; i++) {
+            StockAdjustmentDto result = stockService.increment(product.getId(), item.getId(), 2);
+            assertTrue(result.pending());
+        }
+        assertThrows(ResourceNotFoundException.class, () -> stockService.increment(product.getId(), 999999L, 1));
+        assertEquals(10, itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow());
+
+        assertEquals(1, stockCoalescer.flush());
+
+        assertEquals(110, itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow());
+        assertEquals(110L, productRepository.findById(product.getId()).orElseThrow().getTotalQuantity());
+        assertEquals(0, stockCoalescer.flush());
+    }
+
+    @Test
+    void increment_WhenCoalescingAHeldItem_ShouldMakeTheFlushedStockAvailable() {
+        ReflectionTestUtils.setField(stockService, "coalescing", true);
+        assertTrue(reservationLedger.reserve(product.getId(), item.getId(), 10, () -> 10));
+        try {
+            stockService.increment(product.getId(), item.getId(), 5);
+            assertThrows(ConflictException.class, () -> stockService.decrement(product.getId(), item.getId(), 5));
+
+            assertEquals(1, stockCoalescer.flush());
+
+            assertEquals(5, reservationLedger.available(product.getId(), item.getId()));
+            assertEquals(10, stockService.decrement(product.getId(), item.getId(), 5).quantity());
+        } finally {
+            reservationLedger.release(product.getId(), item.getId(), 10);
+        }
+    }
+
+    @Test
+    void flush_WhenOneItemFails_ShouldApplyTheOthersAndParkIt() {
+        ReflectionTestUtils.setField(stockService, "coalescing", true);
+        Product full = productRepository.save(Product.builder().productName("Full")
+                .totalQuantity((long) Integer.MAX_VALUE - 1).build());
+        Item overflowing = itemRepository.save(Item.builder().product(full).quantity(Integer.MAX_VALUE - 1).build());
+        double coalesced = meterRegistry.get("products.stock.coalesced").counter().count();
+
+        stockService.increment(full.getId(), overflowing.getId(), 5);
+        stockService.increment(product.getId(), item.getId(), 3);
+
+        assertEquals(1, stockCoalescer.flush());
+        assertEquals(13, itemRepository.findQuantity(product.getId(), item.getId()).orElseThrow());
+        assertEquals(Integer.MAX_VALUE - 1, itemRepository.findQuantity(full.getId(), overflowing.getId()).orElseThrow());
+        assertEquals(5, stockCoalescer.parkedDelta(full.getId(), overflowing.getId()));
+
+        assertEquals(0, stockCoalescer.flush());
+        assertEquals(coalesced + 2, meterRegistry.get("products.stock.coalesced").counter().count());
+    }
+}